@@ -0,0 +1,33 @@
+package com.lifeinventory.identity.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link UUID#randomUUID()} with the UUIDv7 {@link IdGenerator} under concurrent load.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=IdGeneratorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator uuidV7 = IdGenerator.uuidV7();
+
+    @Benchmark
+    public UUID randomUuid() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID uuidV7() {
+        return uuidV7.nextId();
+    }
+}
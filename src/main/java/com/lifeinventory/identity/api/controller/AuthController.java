@@ -1,20 +1,31 @@
 package com.lifeinventory.identity.api.controller;
 
 import com.lifeinventory.identity.api.dto.*;
+import com.lifeinventory.identity.event.IdentityEventPublisher;
+import com.lifeinventory.identity.event.UserAuthenticated;
+import com.lifeinventory.identity.exception.UserNotFoundException;
+import com.lifeinventory.identity.infrastructure.security.AuthenticatedUser;
+import com.lifeinventory.identity.infrastructure.security.ClientAddressResolver;
 import com.lifeinventory.identity.infrastructure.security.GoogleAuthService;
 import com.lifeinventory.identity.model.*;
-import com.lifeinventory.identity.repository.TokenRepository;
 import com.lifeinventory.identity.repository.UserRepository;
-import com.lifeinventory.identity.service.TokenGenerator;
+import com.lifeinventory.identity.service.SessionTokenIssuer;
 import com.lifeinventory.identity.usecase.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+/**
+ * Endpoints that hash or verify passwords run on the bounded elastic scheduler: they block while
+ * {@code BoundedPasswordHasher} works, which must never happen on an event loop thread.
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -27,10 +38,12 @@ public class AuthController {
     private final LogoutUserUseCase logoutUserUseCase;
     private final RequestPasswordResetUseCase requestPasswordResetUseCase;
     private final ResetPasswordUseCase resetPasswordUseCase;
+    private final GetUserUseCase getUserUseCase;
     private final GoogleAuthService googleAuthService;
     private final UserRepository userRepository;
-    private final TokenRepository tokenRepository;
-    private final TokenGenerator tokenGenerator;
+    private final SessionTokenIssuer tokenIssuer;
+    private final IdentityEventPublisher eventPublisher;
+    private final ClientAddressResolver clientAddressResolver;
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
@@ -49,24 +62,26 @@ public class AuthController {
             User user = registerUserUseCase.execute(command);
 
             // For local registration, generate tokens immediately (email verification is separate)
-            Token accessToken = tokenGenerator.generateAccessToken(user);
-            Token refreshToken = tokenGenerator.generateRefreshToken(user);
-            tokenRepository.save(accessToken);
-            tokenRepository.save(refreshToken);
+            AuthenticationResult tokens = tokenIssuer.issue(user);
 
             return new AuthResponse(
-                    accessToken.tokenValue(),
-                    refreshToken.tokenValue(),
+                    tokens.accessToken().tokenValue(),
+                    tokens.refreshToken().tokenValue(),
                     UserResponse.from(user)
             );
-        });
+        }).subscribeOn(Schedulers.boundedElastic());
     }
 
     @PostMapping("/login")
-    public Mono<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public Mono<AuthResponse> login(@Valid @RequestBody LoginRequest request, ServerHttpRequest httpRequest) {
         return Mono.fromCallable(() -> {
             AuthenticateUserUseCase.AuthenticateCommand command =
-                    AuthenticateUserUseCase.AuthenticateCommand.local(request.email(), request.password());
+                    AuthenticateUserUseCase.AuthenticateCommand.local(
+                            request.email(),
+                            request.password(),
+                            clientIp(httpRequest),
+                            userAgent(httpRequest)
+                    );
 
             AuthenticationResult result = authenticateUserUseCase.execute(command);
 
@@ -75,11 +90,14 @@ public class AuthController {
                     result.refreshToken().tokenValue(),
                     UserResponse.from(result.user())
             );
-        });
+        }).subscribeOn(Schedulers.boundedElastic());
     }
 
     @PostMapping("/google")
-    public Mono<AuthResponse> authenticateWithGoogle(@Valid @RequestBody GoogleAuthRequest request) {
+    public Mono<AuthResponse> authenticateWithGoogle(
+            @Valid @RequestBody GoogleAuthRequest request,
+            ServerHttpRequest httpRequest
+    ) {
         return googleAuthService.verifyIdToken(request.idToken())
                 .map(googleUser -> {
                     // Find or create user
@@ -109,21 +127,21 @@ public class AuthController {
                                         profile
                                 );
 
-                                return userRepository.save(newUser);
+                                return userRepository.create(newUser);
                             });
 
                     // Record login and generate tokens
                     User updatedUser = user.recordLogin();
-                    userRepository.save(updatedUser);
+                    userRepository.recordLogin(updatedUser.id(), updatedUser.lastLoginAt());
+
+                    AuthenticationResult tokens = tokenIssuer.issue(updatedUser);
 
-                    Token accessToken = tokenGenerator.generateAccessToken(updatedUser);
-                    Token refreshToken = tokenGenerator.generateRefreshToken(updatedUser);
-                    tokenRepository.save(accessToken);
-                    tokenRepository.save(refreshToken);
+                    eventPublisher.publish(UserAuthenticated.of(
+                            updatedUser, clientIp(httpRequest), userAgent(httpRequest)));
 
                     return new AuthResponse(
-                            accessToken.tokenValue(),
-                            refreshToken.tokenValue(),
+                            tokens.accessToken().tokenValue(),
+                            tokens.refreshToken().tokenValue(),
                             UserResponse.from(updatedUser)
                     );
                 });
@@ -149,12 +167,13 @@ public class AuthController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public Mono<Void> logout(
             @Valid @RequestBody RefreshRequest request,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return Mono.fromRunnable(() -> {
             if (user != null) {
                 LogoutUserUseCase.LogoutCommand command =
-                        LogoutUserUseCase.LogoutCommand.single(user.id(), request.refreshToken());
+                        LogoutUserUseCase.LogoutCommand.single(
+                                user.id(), request.refreshToken(), user.tokenId(), user.tokenExpiresAt());
                 logoutUserUseCase.execute(command);
             }
         });
@@ -162,10 +181,14 @@ public class AuthController {
 
     @PostMapping("/forgot-password")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    public Mono<Void> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+    public Mono<Void> forgotPassword(
+            @Valid @RequestBody ForgotPasswordRequest request,
+            ServerHttpRequest httpRequest
+    ) {
         return Mono.fromRunnable(() -> {
             RequestPasswordResetUseCase.RequestPasswordResetCommand command =
-                    RequestPasswordResetUseCase.RequestPasswordResetCommand.of(request.email());
+                    RequestPasswordResetUseCase.RequestPasswordResetCommand.of(
+                            request.email(), clientIp(httpRequest));
             // Always return success to prevent email enumeration
             requestPasswordResetUseCase.execute(command);
         });
@@ -177,13 +200,27 @@ public class AuthController {
             ResetPasswordUseCase.ResetPasswordCommand command =
                     new ResetPasswordUseCase.ResetPasswordCommand(request.token(), request.newPassword());
             resetPasswordUseCase.execute(command);
-        });
+        }).subscribeOn(Schedulers.boundedElastic()).then();
     }
 
     @GetMapping("/me")
-    public Mono<UserResponse> getCurrentUser(@AuthenticationPrincipal User user) {
-        return Mono.justOrEmpty(user)
-                .map(UserResponse::from)
-                .switchIfEmpty(Mono.error(new IllegalStateException("User not authenticated")));
+    public Mono<UserResponse> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return Mono.justOrEmpty(principal)
+                .switchIfEmpty(Mono.error(new IllegalStateException("User not authenticated")))
+                .flatMap(authenticated -> Mono.fromCallable(() -> getUserUseCase.getById(authenticated.id())
+                                .map(UserResponse::from)
+                                .orElseThrow(() -> new UserNotFoundException(authenticated.id())))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * Client address; X-Forwarded-For only counts for hops added by trusted proxies.
+     */
+    private String clientIp(ServerHttpRequest request) {
+        return clientAddressResolver.resolve(request);
+    }
+
+    private static String userAgent(ServerHttpRequest request) {
+        return request.getHeaders().getFirst(HttpHeaders.USER_AGENT);
     }
 }
@@ -0,0 +1,30 @@
+package com.lifeinventory.identity.api.controller;
+
+import com.lifeinventory.identity.api.dto.IntrospectionRequest;
+import com.lifeinventory.identity.api.dto.IntrospectionResponse;
+import com.lifeinventory.identity.infrastructure.security.TokenIntrospector;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Batch token introspection for other services, e.g. an API gateway validating a burst of
+ * requests in one round trip. Restricted to {@code SYSTEM} callers in {@code SecurityConfig}.
+ */
+@RestController
+@RequestMapping("/api/v1/introspect")
+@RequiredArgsConstructor
+public class IntrospectionController {
+
+    private final TokenIntrospector tokenIntrospector;
+
+    @PostMapping
+    public Mono<IntrospectionResponse> introspect(@Valid @RequestBody IntrospectionRequest request) {
+        return tokenIntrospector.introspectAll(request.tokens())
+                .map(IntrospectionResponse::from);
+    }
+}
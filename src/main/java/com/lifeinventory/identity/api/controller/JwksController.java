@@ -0,0 +1,34 @@
+package com.lifeinventory.identity.api.controller;
+
+import com.lifeinventory.identity.infrastructure.security.JwtSigningKeys;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Publishes the public keys for verifying tokens issued by this service.
+ * The document is serialized once per key set; conditional requests with a matching ETag get 304.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final JwtSigningKeys signingKeys;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getJwks() {
+        JwtSigningKeys.JwkSet jwkSet = signingKeys.jwkSet();
+        return Mono.just(ResponseEntity.ok()
+                .eTag(jwkSet.etag())
+                .cacheControl(CACHE_CONTROL)
+                .body(jwkSet.document()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.lifeinventory.identity.api.controller;
+
+import com.lifeinventory.identity.api.dto.ServiceTokenResponse;
+import com.lifeinventory.identity.exception.InvalidCredentialsException;
+import com.lifeinventory.identity.usecase.IssueServiceTokenUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Client credentials grant for registered services (RFC 6749, section 4.4).
+ * <p>
+ * Clients authenticate with HTTP Basic or with {@code client_id} and {@code client_secret} form
+ * parameters. No refresh token is issued; clients request a new token when theirs expires.
+ */
+@RestController
+@RequestMapping("/api/v1/auth/token")
+@RequiredArgsConstructor
+public class ServiceTokenController {
+
+    private static final String CLIENT_CREDENTIALS = "client_credentials";
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final IssueServiceTokenUseCase issueServiceTokenUseCase;
+
+    @PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public Mono<ServiceTokenResponse> token(ServerWebExchange exchange) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return exchange.getFormData().map(form -> {
+            if (!CLIENT_CREDENTIALS.equals(form.getFirst("grant_type"))) {
+                throw new IllegalArgumentException("Unsupported grant_type, expected " + CLIENT_CREDENTIALS);
+            }
+            IssueServiceTokenUseCase.ClientCredentialsCommand command = credentials(authorization, form);
+            return ServiceTokenResponse.from(issueServiceTokenUseCase.execute(command));
+        });
+    }
+
+    private static IssueServiceTokenUseCase.ClientCredentialsCommand credentials(
+            String authorization,
+            MultiValueMap<String, String> form
+    ) {
+        if (authorization != null && authorization.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            String decoded;
+            try {
+                decoded = new String(Base64.getDecoder().decode(authorization.substring(BASIC_PREFIX.length()).trim()),
+                        StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCredentialsException("Invalid client credentials");
+            }
+            int separator = decoded.indexOf(':');
+            if (separator < 0) {
+                throw new InvalidCredentialsException("Invalid client credentials");
+            }
+            // Basic credentials of OAuth clients are form-encoded before base64 (RFC 6749, section 2.3.1)
+            return IssueServiceTokenUseCase.ClientCredentialsCommand.of(
+                    URLDecoder.decode(decoded.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(decoded.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+
+        String clientId = form.getFirst("client_id");
+        String clientSecret = form.getFirst("client_secret");
+        if (clientId == null || clientSecret == null) {
+            throw new InvalidCredentialsException("Client credentials required");
+        }
+        return IssueServiceTokenUseCase.ClientCredentialsCommand.of(clientId, clientSecret);
+    }
+}
@@ -1,6 +1,8 @@
 package com.lifeinventory.identity.api.controller;
 
 import com.lifeinventory.identity.api.dto.*;
+import com.lifeinventory.identity.exception.UserNotFoundException;
+import com.lifeinventory.identity.infrastructure.security.AuthenticatedUser;
 import com.lifeinventory.identity.model.User;
 import com.lifeinventory.identity.model.UserProfile;
 import com.lifeinventory.identity.usecase.*;
@@ -10,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.UUID;
 
@@ -23,18 +26,22 @@ public class UserController {
     private final UpdateUserProfileUseCase updateUserProfileUseCase;
     private final ChangePasswordUseCase changePasswordUseCase;
     private final VerifyEmailUseCase verifyEmailUseCase;
+    private final GetLoginHistoryUseCase getLoginHistoryUseCase;
 
     @GetMapping("/me")
-    public Mono<UserResponse> getCurrentUser(@AuthenticationPrincipal User user) {
-        return Mono.justOrEmpty(user)
-                .map(UserResponse::from)
-                .switchIfEmpty(Mono.error(new IllegalStateException("User not authenticated")));
+    public Mono<UserResponse> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return Mono.justOrEmpty(principal)
+                .switchIfEmpty(Mono.error(new IllegalStateException("User not authenticated")))
+                .flatMap(authenticated -> Mono.fromCallable(() -> getUserUseCase.getById(authenticated.id())
+                                .map(UserResponse::from)
+                                .orElseThrow(() -> new UserNotFoundException(authenticated.id())))
+                        .subscribeOn(Schedulers.boundedElastic()));
     }
 
     @GetMapping("/{id}")
     public Mono<UserResponse> getUserById(
             @PathVariable UUID id,
-            @AuthenticationPrincipal User requester
+            @AuthenticationPrincipal AuthenticatedUser requester
     ) {
         return Mono.fromCallable(() -> {
             // Check if user is requesting their own data or has admin rights
@@ -48,11 +55,26 @@ public class UserController {
         });
     }
 
+    @GetMapping("/{id}/login-history")
+    public Mono<LoginHistoryResponse> getLoginHistory(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal AuthenticatedUser requester
+    ) {
+        return Mono.fromCallable(() -> {
+            GetLoginHistoryUseCase.LoginHistoryQuery query =
+                    GetLoginHistoryUseCase.LoginHistoryQuery.of(id, requester.id(), cursor, limit);
+
+            return LoginHistoryResponse.from(getLoginHistoryUseCase.execute(query));
+        });
+    }
+
     @PutMapping("/{id}/profile")
     public Mono<UserResponse> updateProfile(
             @PathVariable UUID id,
             @Valid @RequestBody UpdateProfileRequest request,
-            @AuthenticationPrincipal User requester
+            @AuthenticationPrincipal AuthenticatedUser requester
     ) {
         return Mono.fromCallable(() -> {
             UpdateUserProfileUseCase.UpdateProfileCommand command =
@@ -76,8 +98,9 @@ public class UserController {
     public Mono<Void> changePassword(
             @PathVariable UUID id,
             @Valid @RequestBody ChangePasswordRequest request,
-            @AuthenticationPrincipal User requester
+            @AuthenticationPrincipal AuthenticatedUser requester
     ) {
+        // Blocks while the password is hashed, so keep it off the event loop
         return Mono.fromRunnable(() -> {
             if (!requester.id().equals(id)) {
                 throw new IllegalStateException("Can only change your own password");
@@ -91,7 +114,7 @@ public class UserController {
                     );
 
             changePasswordUseCase.execute(command);
-        });
+        }).subscribeOn(Schedulers.boundedElastic()).then();
     }
 
     @PostMapping("/verify-email")
@@ -0,0 +1,13 @@
+package com.lifeinventory.identity.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record IntrospectionRequest(
+        @NotEmpty(message = "At least one token is required")
+        @Size(max = 100, message = "At most 100 tokens per request")
+        List<@NotBlank String> tokens
+) {}
@@ -0,0 +1,50 @@
+package com.lifeinventory.identity.api.dto;
+
+import com.lifeinventory.identity.infrastructure.security.AuthenticatedUser;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Introspection results in the order of the requested tokens. Inactive tokens only carry
+ * {@code active = false}, without saying why.
+ */
+public record IntrospectionResponse(
+        List<Result> results
+) {
+    public record Result(
+            boolean active,
+            UUID userId,
+            String email,
+            Set<String> roles,
+            Set<String> permissions,
+            boolean emailVerified,
+            String tokenId,
+            Instant expiresAt
+    ) {
+        private static final Result INACTIVE = new Result(false, null, null, null, null, false, null, null);
+
+        public static Result from(Optional<AuthenticatedUser> principal) {
+            return principal
+                    .map(user -> new Result(
+                            true,
+                            user.id(),
+                            user.email(),
+                            user.roles().stream().map(Enum::name).collect(Collectors.toSet()),
+                            user.permissions().stream().map(Enum::name).collect(Collectors.toSet()),
+                            user.emailVerified(),
+                            user.tokenId(),
+                            user.tokenExpiresAt()
+                    ))
+                    .orElse(INACTIVE);
+        }
+    }
+
+    public static IntrospectionResponse from(List<Optional<AuthenticatedUser>> principals) {
+        return new IntrospectionResponse(principals.stream().map(Result::from).toList());
+    }
+}
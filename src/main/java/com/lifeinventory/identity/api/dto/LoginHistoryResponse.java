@@ -0,0 +1,30 @@
+package com.lifeinventory.identity.api.dto;
+
+import com.lifeinventory.identity.model.LoginHistoryCursor;
+import com.lifeinventory.identity.model.LoginHistoryEntry;
+import com.lifeinventory.identity.model.LoginHistoryPage;
+
+import java.time.Instant;
+import java.util.List;
+
+public record LoginHistoryResponse(
+        List<Entry> entries,
+        String nextCursor
+) {
+    public record Entry(
+            Instant occurredAt,
+            String ipAddress,
+            String userAgent
+    ) {
+        public static Entry from(LoginHistoryEntry entry) {
+            return new Entry(entry.occurredAt(), entry.ipAddress(), entry.userAgent());
+        }
+    }
+
+    public static LoginHistoryResponse from(LoginHistoryPage page) {
+        return new LoginHistoryResponse(
+                page.entries().stream().map(Entry::from).toList(),
+                page.next().map(LoginHistoryCursor::encode).orElse(null)
+        );
+    }
+}
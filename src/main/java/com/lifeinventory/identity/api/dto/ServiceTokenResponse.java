@@ -0,0 +1,21 @@
+package com.lifeinventory.identity.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.lifeinventory.identity.model.Token;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Token response of the client credentials grant, in the OAuth 2.0 format (RFC 6749, section 5.1).
+ */
+public record ServiceTokenResponse(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("token_type") String tokenType,
+        @JsonProperty("expires_in") long expiresIn
+) {
+    public static ServiceTokenResponse from(Token token) {
+        long expiresIn = Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toSeconds());
+        return new ServiceTokenResponse(token.tokenValue(), "Bearer", expiresIn);
+    }
+}
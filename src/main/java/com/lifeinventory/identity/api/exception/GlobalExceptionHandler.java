@@ -3,6 +3,7 @@ package com.lifeinventory.identity.api.exception;
 import com.lifeinventory.identity.api.dto.ErrorResponse;
 import com.lifeinventory.identity.exception.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -87,6 +88,36 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.FORBIDDEN, "Forbidden", "Access denied", exchange);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleServiceOverloaded(
+            ServiceOverloadedException ex,
+            ServerWebExchange exchange
+    ) {
+        log.debug("Request shed: {}", ex.getMessage());
+        String path = exchange.getRequest().getPath().value();
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", ex.getMessage(), path);
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errorResponse));
+    }
+
+    @ExceptionHandler(TooManyAttemptsException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleTooManyAttempts(
+            TooManyAttemptsException ex,
+            ServerWebExchange exchange
+    ) {
+        log.debug("Attempt throttled: {}", ex.getMessage());
+        String path = exchange.getRequest().getPath().value();
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", ex.getMessage(), path);
+        // Round up so a client honoring the header is not refused again
+        long seconds = Math.max(1, ex.getRetryAfter().plusMillis(999).toSeconds());
+        return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .body(errorResponse));
+    }
+
     @ExceptionHandler(WebExchangeBindException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleValidation(
             WebExchangeBindException ex,
@@ -1,18 +1,58 @@
 package com.lifeinventory.identity.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Map;
 
 @Configuration
 public class KafkaConfig {
 
+    public static final String IDENTITY_EVENTS_TOPIC = "identity-events";
+
+    /**
+     * Partitions of {@link #IDENTITY_EVENTS_TOPIC}. Listeners that assign themselves every
+     * partition list them from this, so raise it here rather than on the broker.
+     */
+    public static final int IDENTITY_EVENTS_PARTITIONS = 3;
+
     @Bean
     public NewTopic identityEventsTopic() {
-        return TopicBuilder.name("identity-events")
-                .partitions(3)
+        return TopicBuilder.name(IDENTITY_EVENTS_TOPIC)
+                .partitions(IDENTITY_EVENTS_PARTITIONS)
                 .replicas(1)
                 .build();
     }
+
+    /**
+     * Consumer for node-local state fed from identity-events. Listeners assign themselves their
+     * partitions and position themselves on assignment, so there is no consumer group: nothing is
+     * left behind on the broker when a node goes away, and offsets are never committed.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> revocationListenerContainerFactory(
+            KafkaProperties kafkaProperties
+    ) {
+        Map<String, Object> properties = kafkaProperties.buildConsumerProperties(null);
+        properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        properties.remove(ConsumerConfig.GROUP_ID_CONFIG);
+
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, String>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(properties));
+        // Listeners never acknowledge, so the container never commits
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        return factory;
+    }
 }
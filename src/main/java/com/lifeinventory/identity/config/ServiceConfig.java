@@ -1,14 +1,36 @@
 package com.lifeinventory.identity.config;
 
 import com.lifeinventory.identity.event.IdentityEventPublisher;
+import com.lifeinventory.identity.repository.LoginHistoryRepository;
+import com.lifeinventory.identity.repository.RefreshTokenFamilyRepository;
+import com.lifeinventory.identity.repository.ServiceClientRepository;
 import com.lifeinventory.identity.repository.TokenRepository;
 import com.lifeinventory.identity.repository.UserRepository;
+import com.lifeinventory.identity.service.AttemptThrottle;
 import com.lifeinventory.identity.service.AuthenticationService;
+import com.lifeinventory.identity.service.CoalescingRefreshService;
+import com.lifeinventory.identity.service.LoginHistoryService;
 import com.lifeinventory.identity.service.PasswordHasher;
+import com.lifeinventory.identity.service.PasswordRehashMonitor;
+import com.lifeinventory.identity.service.ServiceTokenService;
+import com.lifeinventory.identity.service.SessionTokenIssuer;
+import com.lifeinventory.identity.service.ThrottledAuthenticationService;
+import com.lifeinventory.identity.service.ThrottledPasswordResetService;
 import com.lifeinventory.identity.service.TokenGenerator;
+import com.lifeinventory.identity.service.TokenVerifier;
 import com.lifeinventory.identity.service.UserService;
+import com.lifeinventory.identity.usecase.AuthenticateUserUseCase;
+import com.lifeinventory.identity.usecase.RefreshTokenUseCase;
+import com.lifeinventory.identity.usecase.RequestPasswordResetUseCase;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 public class ServiceConfig {
@@ -19,6 +41,7 @@ public class ServiceConfig {
             TokenRepository tokenRepository,
             PasswordHasher passwordHasher,
             TokenGenerator tokenGenerator,
+            TokenVerifier tokenVerifier,
             IdentityEventPublisher eventPublisher
     ) {
         return new UserService(
@@ -26,24 +49,110 @@ public class ServiceConfig {
                 tokenRepository,
                 passwordHasher,
                 tokenGenerator,
+                tokenVerifier,
                 eventPublisher
         );
     }
 
+    @Bean
+    public SessionTokenIssuer sessionTokenIssuer(
+            TokenRepository tokenRepository,
+            RefreshTokenFamilyRepository familyRepository,
+            TokenGenerator tokenGenerator,
+            @Value("${security.tokens.persist-access-tokens:false}") boolean persistAccessTokens,
+            @Value("${security.tokens.max-sessions-per-user:50}") int maxSessionsPerUser
+    ) {
+        if (maxSessionsPerUser < 1) {
+            throw new IllegalArgumentException("security.tokens.max-sessions-per-user must be at least 1");
+        }
+        return new SessionTokenIssuer(
+                tokenRepository,
+                familyRepository,
+                tokenGenerator,
+                persistAccessTokens,
+                maxSessionsPerUser
+        );
+    }
+
     @Bean
     public AuthenticationService authenticationService(
             UserRepository userRepository,
             TokenRepository tokenRepository,
             PasswordHasher passwordHasher,
             TokenGenerator tokenGenerator,
-            IdentityEventPublisher eventPublisher
+            TokenVerifier tokenVerifier,
+            SessionTokenIssuer tokenIssuer,
+            IdentityEventPublisher eventPublisher,
+            @Qualifier("passwordRehashExecutor") ExecutorService rehashExecutor,
+            PasswordRehashMonitor rehashMonitor
     ) {
         return new AuthenticationService(
                 userRepository,
                 tokenRepository,
                 passwordHasher,
                 tokenGenerator,
-                eventPublisher
+                tokenVerifier,
+                tokenIssuer,
+                eventPublisher,
+                rehashExecutor,
+                rehashMonitor
+        );
+    }
+
+    /**
+     * Runs password hash upgrades after logins. The hashing itself is bounded by the password
+     * hasher, so these threads only wait for it.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService passwordRehashExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    @Primary
+    public AuthenticateUserUseCase authenticateUserUseCase(
+            AuthenticationService authenticationService,
+            @Qualifier("loginThrottle") AttemptThrottle loginThrottle
+    ) {
+        return new ThrottledAuthenticationService(authenticationService, loginThrottle);
+    }
+
+    @Bean
+    @Primary
+    public RequestPasswordResetUseCase requestPasswordResetUseCase(
+            AuthenticationService authenticationService,
+            @Qualifier("passwordResetThrottle") AttemptThrottle passwordResetThrottle
+    ) {
+        return new ThrottledPasswordResetService(authenticationService, passwordResetThrottle);
+    }
+
+    @Bean
+    @Primary
+    public RefreshTokenUseCase refreshTokenUseCase(
+            AuthenticationService authenticationService,
+            @Value("${security.tokens.refresh-grace-period:10s}") Duration gracePeriod,
+            @Value("${security.tokens.refresh-grace-max-entries:100000}") int maxEntries
+    ) {
+        return new CoalescingRefreshService(authenticationService, gracePeriod, maxEntries);
+    }
+
+    @Bean
+    public ServiceTokenService serviceTokenService(
+            ServiceClientRepository clientRepository,
+            TokenGenerator tokenGenerator,
+            @Value("${security.clients.token-expiration:5m}") Duration tokenValidity
+    ) {
+        return new ServiceTokenService(clientRepository, tokenGenerator, tokenValidity);
+    }
+
+    @Bean
+    public LoginHistoryService loginHistoryService(
+            UserRepository userRepository,
+            LoginHistoryRepository loginHistoryRepository
+    ) {
+        return new LoginHistoryService(
+                userRepository,
+                loginHistoryRepository
         );
     }
 }
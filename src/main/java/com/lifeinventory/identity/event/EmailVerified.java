@@ -1,5 +1,6 @@
 package com.lifeinventory.identity.event;
 
+import com.lifeinventory.identity.model.IdGenerator;
 import com.lifeinventory.identity.model.User;
 import lombok.NonNull;
 
@@ -18,7 +19,7 @@ public record EmailVerified(
 
     public static EmailVerified of(User user) {
         return new EmailVerified(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             user.id(),
             user.email(),
             Instant.now()
@@ -1,5 +1,6 @@
 package com.lifeinventory.identity.event;
 
+import com.lifeinventory.identity.model.IdGenerator;
 import com.lifeinventory.identity.model.User;
 import lombok.NonNull;
 
@@ -8,19 +9,22 @@ import java.util.UUID;
 
 /**
  * Event raised when a user's password is changed.
+ * Carries the token generation that became current with the change.
  */
 public record PasswordChanged(
     @NonNull UUID eventId,
     @NonNull UUID userId,
     @NonNull String email,
+    long tokenGeneration,
     @NonNull Instant occurredAt
 ) implements IdentityEvent {
 
     public static PasswordChanged of(User user) {
         return new PasswordChanged(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             user.id(),
             user.email(),
+            user.tokenGeneration(),
             Instant.now()
         );
     }
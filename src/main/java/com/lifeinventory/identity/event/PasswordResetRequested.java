@@ -1,5 +1,6 @@
 package com.lifeinventory.identity.event;
 
+import com.lifeinventory.identity.model.IdGenerator;
 import com.lifeinventory.identity.model.Token;
 import com.lifeinventory.identity.model.User;
 import lombok.NonNull;
@@ -21,7 +22,7 @@ public record PasswordResetRequested(
 
     public static PasswordResetRequested of(User user, Token token) {
         return new PasswordResetRequested(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             user.id(),
             user.email(),
             token.id(),
@@ -1,5 +1,6 @@
 package com.lifeinventory.identity.event;
 
+import com.lifeinventory.identity.model.IdGenerator;
 import com.lifeinventory.identity.model.User;
 import lombok.NonNull;
 
@@ -17,7 +18,7 @@ public record TokenRefreshed(
 
     public static TokenRefreshed of(User user) {
         return new TokenRefreshed(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             user.id(),
             Instant.now()
         );
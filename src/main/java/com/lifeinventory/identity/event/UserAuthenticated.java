@@ -1,5 +1,6 @@
 package com.lifeinventory.identity.event;
 
+import com.lifeinventory.identity.model.IdGenerator;
 import com.lifeinventory.identity.model.User;
 import lombok.NonNull;
 
@@ -20,7 +21,7 @@ public record UserAuthenticated(
 
     public static UserAuthenticated of(User user, String ipAddress, String userAgent) {
         return new UserAuthenticated(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             user.id(),
             user.email(),
             ipAddress,
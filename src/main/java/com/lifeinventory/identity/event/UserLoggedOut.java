@@ -1,5 +1,7 @@
 package com.lifeinventory.identity.event;
 
+import com.lifeinventory.identity.model.IdGenerator;
+import com.lifeinventory.identity.model.User;
 import lombok.NonNull;
 
 import java.time.Instant;
@@ -7,28 +9,45 @@ import java.util.UUID;
 
 /**
  * Event raised when a user logs out.
+ * <p>
+ * A single-device logout carries the id and expiry of the access token used for it, so other
+ * nodes can reject that token until it expires. A logout from all devices carries the user's
+ * new token generation instead.
  */
 public record UserLoggedOut(
     @NonNull UUID eventId,
     @NonNull UUID userId,
     boolean allDevices,
+    String tokenId,
+    Instant tokenExpiresAt,
+    long tokenGeneration,
     @NonNull Instant occurredAt
 ) implements IdentityEvent {
 
     public static UserLoggedOut singleDevice(UUID userId) {
+        return singleDevice(userId, null, null);
+    }
+
+    public static UserLoggedOut singleDevice(UUID userId, String accessTokenId, Instant accessTokenExpiresAt) {
         return new UserLoggedOut(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             userId,
             false,
+            accessTokenId,
+            accessTokenExpiresAt,
+            0L,
             Instant.now()
         );
     }
 
-    public static UserLoggedOut allDevices(UUID userId) {
+    public static UserLoggedOut allDevices(User user) {
         return new UserLoggedOut(
-            UUID.randomUUID(),
-            userId,
+            IdGenerator.next(),
+            user.id(),
             true,
+            null,
+            null,
+            user.tokenGeneration(),
             Instant.now()
         );
     }
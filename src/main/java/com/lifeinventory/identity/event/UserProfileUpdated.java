@@ -1,5 +1,6 @@
 package com.lifeinventory.identity.event;
 
+import com.lifeinventory.identity.model.IdGenerator;
 import com.lifeinventory.identity.model.User;
 import lombok.NonNull;
 
@@ -22,7 +23,7 @@ public record UserProfileUpdated(
             displayName = user.email();
         }
         return new UserProfileUpdated(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             user.id(),
             displayName,
             Instant.now()
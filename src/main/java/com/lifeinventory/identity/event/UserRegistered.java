@@ -1,6 +1,7 @@
 package com.lifeinventory.identity.event;
 
 import com.lifeinventory.identity.model.AuthProvider;
+import com.lifeinventory.identity.model.IdGenerator;
 import com.lifeinventory.identity.model.User;
 import lombok.NonNull;
 
@@ -20,7 +21,7 @@ public record UserRegistered(
 
     public static UserRegistered of(User user) {
         return new UserRegistered(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             user.id(),
             user.email(),
             user.authProvider(),
@@ -0,0 +1,21 @@
+package com.lifeinventory.identity.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is shed because the service is at capacity.
+ * The caller may retry after {@link #getRetryAfter()}.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,21 @@
+package com.lifeinventory.identity.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a client or an account made too many attempts in a short time.
+ * The caller may retry after {@link #getRetryAfter()}.
+ */
+public class TooManyAttemptsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyAttemptsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,84 @@
+package com.lifeinventory.identity.infrastructure.datagen;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.lifeinventory.identity.model.Permission;
+import com.lifeinventory.identity.model.Role;
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.model.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+/**
+ * Writes with prepared CQL statements directly on the driver session, bypassing the repositories.
+ */
+public class CqlDatasetWriter implements DatasetWriter {
+
+    private final CqlSession session;
+    private final PreparedStatement insertUser;
+    private final PreparedStatement insertToken;
+
+    public CqlDatasetWriter(CqlSession session) {
+        this.session = session;
+        this.insertUser = session.prepare("""
+                INSERT INTO users (id, email, password_hash, auth_provider, external_id,
+                    display_name, first_name, last_name, avatar_url, locale, timezone,
+                    roles, permissions, email_verified, active, last_login_at, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """);
+        this.insertToken = session.prepare("""
+                INSERT INTO tokens (id, user_id, token_type, token_value, expires_at, created_at, revoked)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """);
+    }
+
+    @Override
+    public Mono<Void> write(SyntheticIdentity identity) {
+        Mono<Void> user = execute(bindUser(identity.user()));
+        Flux<Void> tokens = Flux.fromIterable(identity.tokens())
+                .flatMap(token -> execute(bindToken(token)));
+        return user.thenMany(tokens).then();
+    }
+
+    private BoundStatement bindUser(User user) {
+        return insertUser.bind(
+                user.id(),
+                user.email(),
+                user.passwordHash(),
+                user.authProvider().name(),
+                user.externalId(),
+                user.profile().displayName(),
+                user.profile().firstName(),
+                user.profile().lastName(),
+                user.profile().avatarUrl(),
+                user.profile().locale(),
+                user.profile().timezone(),
+                user.roles().stream().map(Role::name).collect(Collectors.toSet()),
+                user.permissions().stream().map(Permission::name).collect(Collectors.toSet()),
+                user.emailVerified(),
+                user.active(),
+                user.lastLoginAt(),
+                user.createdAt(),
+                user.updatedAt()
+        );
+    }
+
+    private BoundStatement bindToken(Token token) {
+        return insertToken.bind(
+                token.id(),
+                token.userId(),
+                token.type().name(),
+                token.tokenValue(),
+                token.expiresAt(),
+                token.createdAt(),
+                token.revoked()
+        );
+    }
+
+    private Mono<Void> execute(BoundStatement statement) {
+        return Mono.fromCompletionStage(session.executeAsync(statement)).then();
+    }
+}
@@ -0,0 +1,127 @@
+package com.lifeinventory.identity.infrastructure.datagen;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.lifeinventory.identity.repository.TokenRepository;
+import com.lifeinventory.identity.repository.UserRepository;
+import com.lifeinventory.identity.service.PasswordHasher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Populates Cassandra with a synthetic identity dataset for capacity testing, then exits.
+ * <p>
+ * Enabled with the {@code datagen} profile, e.g. {@code ./gradlew generateDataset -PdatagenArgs="--datagen.users=5000000"}.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    public enum WriteMode {
+        /**
+         * Write through {@link UserRepository} and {@link TokenRepository}.
+         */
+        REPOSITORY,
+
+        /**
+         * Write with prepared statements on the driver session.
+         */
+        CQL
+    }
+
+    private final ConfigurableApplicationContext context;
+    private final UserRepository userRepository;
+    private final TokenRepository tokenRepository;
+    private final CqlSession cqlSession;
+    private final PasswordHasher passwordHasher;
+
+    private final long users;
+    private final long startIndex;
+    private final long seed;
+    private final Instant baseTime;
+    private final int concurrency;
+    private final int maxSessionsPerUser;
+    private final WriteMode mode;
+    private final String password;
+    private final boolean persistAccessTokens;
+
+    public DatasetGeneratorRunner(
+            ConfigurableApplicationContext context,
+            UserRepository userRepository,
+            TokenRepository tokenRepository,
+            CqlSession cqlSession,
+            PasswordHasher passwordHasher,
+            @Value("${datagen.users}") long users,
+            @Value("${datagen.start-index:0}") long startIndex,
+            @Value("${datagen.seed}") long seed,
+            @Value("${datagen.base-time}") String baseTime,
+            @Value("${datagen.concurrency}") int concurrency,
+            @Value("${datagen.max-sessions-per-user}") int maxSessionsPerUser,
+            @Value("${datagen.mode}") WriteMode mode,
+            @Value("${datagen.password}") String password,
+            @Value("${security.tokens.persist-access-tokens:false}") boolean persistAccessTokens
+    ) {
+        this.context = context;
+        this.userRepository = userRepository;
+        this.tokenRepository = tokenRepository;
+        this.cqlSession = cqlSession;
+        this.passwordHasher = passwordHasher;
+        this.users = users;
+        this.startIndex = startIndex;
+        this.seed = seed;
+        this.baseTime = Instant.parse(baseTime);
+        this.concurrency = concurrency;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.mode = mode;
+        this.password = password;
+        this.persistAccessTokens = persistAccessTokens;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Generating {} users from index {} (seed={}, mode={}, concurrency={})",
+                users, startIndex, seed, mode, concurrency);
+
+        var factory = new SyntheticIdentityFactory(
+                seed, baseTime, passwordHasher.hash(password), maxSessionsPerUser, persistAccessTokens);
+        DatasetWriter writer = switch (mode) {
+            case REPOSITORY -> new RepositoryDatasetWriter(userRepository, tokenRepository);
+            case CQL -> new CqlDatasetWriter(cqlSession);
+        };
+
+        long progressStep = Math.max(1, users / 20);
+        var written = new AtomicLong();
+        var tokens = new AtomicLong();
+        long started = System.nanoTime();
+
+        Flux.range(0, Math.toIntExact(users))
+                .map(offset -> factory.create(startIndex + offset))
+                .flatMap(identity -> writer.write(identity)
+                        .doOnSuccess(ignored -> {
+                            tokens.addAndGet(identity.tokens().size());
+                            long done = written.incrementAndGet();
+                            if (done % progressStep == 0) {
+                                log.info("Written {}/{} users", done, users);
+                            }
+                        }), concurrency)
+                .blockLast();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        log.info("Generated {} users and {} tokens in {} ({} rows/s)",
+                written.get(), tokens.get(), elapsed, Math.round((written.get() + tokens.get()) / seconds));
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,17 @@
+package com.lifeinventory.identity.infrastructure.datagen;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes generated identities to the database.
+ */
+public interface DatasetWriter {
+
+    /**
+     * Write a user and its tokens.
+     *
+     * @param identity the generated identity
+     * @return completion signal
+     */
+    Mono<Void> write(SyntheticIdentity identity);
+}
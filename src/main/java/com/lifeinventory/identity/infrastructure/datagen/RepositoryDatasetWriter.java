@@ -0,0 +1,29 @@
+package com.lifeinventory.identity.infrastructure.datagen;
+
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.repository.TokenRepository;
+import com.lifeinventory.identity.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Writes through the in-process repositories, exercising the same code path as the service.
+ */
+@RequiredArgsConstructor
+public class RepositoryDatasetWriter implements DatasetWriter {
+
+    private final UserRepository userRepository;
+    private final TokenRepository tokenRepository;
+
+    @Override
+    public Mono<Void> write(SyntheticIdentity identity) {
+        return Mono.<Void>fromRunnable(() -> {
+                    userRepository.create(identity.user());
+                    for (Token token : identity.tokens()) {
+                        tokenRepository.save(token);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,18 @@
+package com.lifeinventory.identity.infrastructure.datagen;
+
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.model.User;
+
+import java.util.List;
+
+/**
+ * A generated user together with its token history.
+ */
+public record SyntheticIdentity(
+        User user,
+        List<Token> tokens
+) {
+    public SyntheticIdentity {
+        tokens = List.copyOf(tokens);
+    }
+}
@@ -0,0 +1,203 @@
+package com.lifeinventory.identity.infrastructure.datagen;
+
+import com.lifeinventory.identity.model.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Deterministic generator of realistic users, profiles and token histories.
+ * <p>
+ * Every identity is derived only from {@code (seed, index)}, so the same seed always produces
+ * the same dataset regardless of how many writers run in parallel or in which order indexes
+ * are processed.
+ */
+public class SyntheticIdentityFactory {
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Ben", "Chloe", "David", "Emma", "Felix", "Grace", "Hugo", "Ida", "Jonas",
+            "Klara", "Liam", "Maya", "Noah", "Olivia", "Paul", "Quinn", "Rosa", "Sam", "Tara",
+            "Uma", "Victor", "Wiktoria", "Xavier", "Yara", "Zoe", "Mateusz", "Lucia", "Kenji", "Amara"
+    };
+    private static final String[] LAST_NAMES = {
+            "Smith", "Nowak", "Muller", "Garcia", "Rossi", "Dubois", "Kowalski", "Silva", "Jensen", "Novak",
+            "Tanaka", "Okafor", "Brown", "Wagner", "Lopez", "Bianchi", "Martin", "Wisniewski", "Costa", "Berg"
+    };
+    private static final String[] EMAIL_DOMAINS = {
+            "gmail.com", "outlook.com", "yahoo.com", "icloud.com", "proton.me", "example.org"
+    };
+    private static final String[] LOCALES = {"en", "en", "en", "de", "fr", "es", "pl", "pt-BR", "it", "ja"};
+    private static final String[] TIMEZONES = {
+            "UTC", "Europe/Warsaw", "Europe/Berlin", "Europe/London", "America/New_York",
+            "America/Los_Angeles", "America/Sao_Paulo", "Asia/Tokyo", "Australia/Sydney"
+    };
+    private static final char[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+    private static final Duration ACCOUNT_AGE_SPAN = Duration.ofDays(3 * 365);
+    private static final Duration ACCESS_TOKEN_VALIDITY = Duration.ofHours(1);
+    private static final Duration REFRESH_TOKEN_VALIDITY = Duration.ofDays(30);
+    private static final int TOKEN_VALUE_LENGTH = 280;
+    // Refresh tokens are stored as a base64url SHA-256 hash
+    private static final int REFRESH_TOKEN_VALUE_LENGTH = 43;
+
+    private final long seed;
+    private final Instant baseTime;
+    private final String passwordHash;
+    private final int maxSessionsPerUser;
+    private final boolean includeAccessTokens;
+    private final Map<Set<Role>, Set<Permission>> permissionsByRoles = new HashMap<>();
+
+    /**
+     * @param seed               seed for the whole dataset
+     * @param baseTime           "now" of the generated dataset; all timestamps are relative to it
+     * @param passwordHash       hash shared by all local users (hashing millions of passwords is not the point)
+     * @param maxSessionsPerUser upper bound of login sessions (access + refresh token pairs) per user
+     * @param includeAccessTokens whether access tokens get rows, mirroring {@code security.tokens.persist-access-tokens}
+     */
+    public SyntheticIdentityFactory(long seed, Instant baseTime, String passwordHash, int maxSessionsPerUser,
+                                    boolean includeAccessTokens) {
+        if (maxSessionsPerUser < 0) {
+            throw new IllegalArgumentException("maxSessionsPerUser must not be negative");
+        }
+        this.seed = seed;
+        this.baseTime = baseTime.truncatedTo(ChronoUnit.MILLIS);
+        this.passwordHash = passwordHash;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.includeAccessTokens = includeAccessTokens;
+
+        // Permissions are derived from roles by the domain model; resolve each combination once
+        User template = User.createLocal("template@example.org", passwordHash);
+        for (Set<Role> roles : List.of(Set.of(Role.USER), Set.of(Role.USER, Role.PREMIUM), Set.of(Role.ADMIN))) {
+            permissionsByRoles.put(roles, template.withRoles(roles).permissions());
+        }
+    }
+
+    /**
+     * Create the identity with the given index.
+     */
+    public SyntheticIdentity create(long index) {
+        var random = new SplittableRandom(mix(seed + index * 0x9E3779B97F4A7C15L));
+
+        User user = createUser(index, random);
+        List<Token> tokens = createTokens(user, random);
+
+        return new SyntheticIdentity(user, tokens);
+    }
+
+    private User createUser(long index, SplittableRandom random) {
+        String firstName = pick(FIRST_NAMES, random);
+        String lastName = pick(LAST_NAMES, random);
+        String email = (firstName + "." + lastName + "." + index + "@" + pick(EMAIL_DOMAINS, random)).toLowerCase();
+
+        int providerRoll = random.nextInt(100);
+        AuthProvider provider = providerRoll < 80 ? AuthProvider.LOCAL
+                : providerRoll < 95 ? AuthProvider.GOOGLE
+                : AuthProvider.APPLE;
+        boolean local = provider == AuthProvider.LOCAL;
+
+        int roleRoll = random.nextInt(100);
+        Set<Role> roles = roleRoll < 90 ? Set.of(Role.USER)
+                : roleRoll < 98 ? Set.of(Role.USER, Role.PREMIUM)
+                : Set.of(Role.ADMIN);
+
+        UserProfile profile = UserProfile.ofName(firstName, lastName)
+                .withLocale(pick(LOCALES, random))
+                .withTimezone(pick(TIMEZONES, random));
+        if (random.nextInt(100) < 30) {
+            profile = profile.withAvatarUrl("https://avatars.example.org/" + randomString(random, 22) + ".png");
+        }
+
+        Instant createdAt = baseTime.minusMillis(random.nextLong(ACCOUNT_AGE_SPAN.toMillis()));
+        Instant lastLoginAt = random.nextInt(100) < 90
+                ? createdAt.plusMillis(random.nextLong(Duration.between(createdAt, baseTime).toMillis() + 1))
+                : null;
+
+        return new User(
+                randomUuid(random),
+                email,
+                local ? passwordHash : null,
+                provider,
+                local ? null : provider.name().toLowerCase() + "-" + randomString(random, 21),
+                profile,
+                roles,
+                permissionsByRoles.get(roles),
+                !local || random.nextInt(100) < 85,
+                random.nextInt(100) < 97,
+                lastLoginAt,
+                createdAt,
+                lastLoginAt != null ? lastLoginAt : createdAt
+        );
+    }
+
+    private List<Token> createTokens(User user, SplittableRandom random) {
+        List<Token> tokens = new ArrayList<>();
+
+        // Email verification and password reset tokens are self-contained and have no rows
+
+        // Skew towards few sessions with a long tail of heavy users
+        double u = random.nextDouble();
+        int sessions = (int) Math.floor(u * u * u * (maxSessionsPerUser + 1));
+        Instant[] loginTimes = new Instant[sessions];
+        for (int i = 0; i < sessions; i++) {
+            loginTimes[i] = between(user.createdAt(), baseTime, random);
+        }
+        Arrays.sort(loginTimes);
+
+        for (int i = 0; i < sessions; i++) {
+            boolean latest = i == sessions - 1;
+            Token accessToken = token(user, TokenType.ACCESS, loginTimes[i], ACCESS_TOKEN_VALIDITY, false, random);
+            if (includeAccessTokens) {
+                tokens.add(accessToken);
+            }
+            // Older refresh tokens have usually been rotated or logged out
+            boolean revoked = !latest && random.nextInt(100) < 60;
+            tokens.add(token(user, TokenType.REFRESH, loginTimes[i], REFRESH_TOKEN_VALIDITY, revoked, random));
+        }
+
+        return tokens;
+    }
+
+    private Token token(User user, TokenType type, Instant createdAt, Duration validity,
+                        boolean revoked, SplittableRandom random) {
+        return new Token(
+                randomUuid(random),
+                user.id(),
+                type,
+                randomString(random, type == TokenType.REFRESH ? REFRESH_TOKEN_VALUE_LENGTH : TOKEN_VALUE_LENGTH),
+                createdAt.plus(validity),
+                createdAt,
+                revoked
+        );
+    }
+
+    private static Instant between(Instant from, Instant to, SplittableRandom random) {
+        return from.plusMillis(random.nextLong(Duration.between(from, to).toMillis() + 1));
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String randomString(SplittableRandom random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = BASE64_URL[random.nextInt(BASE64_URL.length)];
+        }
+        return new String(chars);
+    }
+
+    private static UUID randomUuid(SplittableRandom random) {
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
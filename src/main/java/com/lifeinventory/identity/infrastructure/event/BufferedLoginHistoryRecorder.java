@@ -0,0 +1,123 @@
+package com.lifeinventory.identity.infrastructure.event;
+
+import com.lifeinventory.identity.event.IdentityEvent;
+import com.lifeinventory.identity.event.IdentityEventPublisher;
+import com.lifeinventory.identity.event.UserAuthenticated;
+import com.lifeinventory.identity.model.LoginHistoryEntry;
+import com.lifeinventory.identity.repository.LoginHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records {@link UserAuthenticated} events into the login history.
+ * <p>
+ * Publishing only enqueues the entry, so logins never wait for Cassandra. A background thread
+ * drains the queue and writes entries in batches. The audit log is best-effort: if the buffer is
+ * full, entries are dropped and counted rather than slowing down authentication.
+ */
+@Slf4j
+@Component
+public class BufferedLoginHistoryRecorder implements IdentityEventPublisher {
+
+    private final LoginHistoryRepository loginHistoryRepository;
+    private final BlockingQueue<LoginHistoryEntry> buffer;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public BufferedLoginHistoryRecorder(
+            LoginHistoryRepository loginHistoryRepository,
+            @Value("${audit.login-history.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${audit.login-history.batch-size:200}") int batchSize,
+            @Value("${audit.login-history.flush-interval:1s}") Duration flushInterval
+    ) {
+        this.loginHistoryRepository = loginHistoryRepository;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.flusher = Thread.ofPlatform()
+                .name("login-history-flusher")
+                .daemon()
+                .unstarted(this::flushLoop);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(flushInterval.toMillis() * 5);
+    }
+
+    @Override
+    public void publish(IdentityEvent event) {
+        if (!(event instanceof UserAuthenticated authenticated)) {
+            return;
+        }
+        var entry = new LoginHistoryEntry(
+                authenticated.eventId(),
+                authenticated.userId(),
+                authenticated.occurredAt(),
+                authenticated.ipAddress(),
+                authenticated.userAgent()
+        );
+        if (!buffer.offer(entry)) {
+            long total = dropped.incrementAndGet();
+            if (total % 1000 == 1) {
+                log.warn("Login history buffer is full, {} entries dropped so far", total);
+            }
+        }
+    }
+
+    @Override
+    public void publishAll(List<IdentityEvent> events) {
+        events.forEach(this::publish);
+    }
+
+    private void flushLoop() {
+        List<LoginHistoryEntry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                LoginHistoryEntry first = buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                // Shutting down: drain what is left and write it below
+                buffer.drainTo(batch, batchSize);
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<LoginHistoryEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            loginHistoryRepository.saveAll(batch);
+        } catch (Exception e) {
+            log.warn("Failed to write {} login history entries: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.lifeinventory.identity.infrastructure.event;
 
 import com.lifeinventory.identity.event.IdentityEvent;
 import com.lifeinventory.identity.event.IdentityEventPublisher;
+import com.lifeinventory.identity.infrastructure.security.TokenGenerationCache;
+import com.lifeinventory.identity.infrastructure.security.revocation.RevokedTokenRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
@@ -10,7 +12,8 @@ import java.util.List;
 
 /**
  * Composite event publisher that delegates to multiple publishers.
- * Publishes to both Kafka (for inter-service communication) and logging (for debugging).
+ * Publishes to Kafka (for inter-service communication), logging (for debugging),
+ * the login history buffer and the local token revocation state.
  */
 @Slf4j
 @Component
@@ -19,13 +22,22 @@ public class CompositeEventPublisher implements IdentityEventPublisher {
 
     private final LoggingEventPublisher loggingPublisher;
     private final KafkaIdentityEventPublisher kafkaPublisher;
+    private final BufferedLoginHistoryRecorder loginHistoryRecorder;
+    private final TokenGenerationCache tokenGenerationCache;
+    private final RevokedTokenRegistry revokedTokens;
 
     public CompositeEventPublisher(
             LoggingEventPublisher loggingPublisher,
-            KafkaIdentityEventPublisher kafkaPublisher
+            KafkaIdentityEventPublisher kafkaPublisher,
+            BufferedLoginHistoryRecorder loginHistoryRecorder,
+            TokenGenerationCache tokenGenerationCache,
+            RevokedTokenRegistry revokedTokens
     ) {
         this.loggingPublisher = loggingPublisher;
         this.kafkaPublisher = kafkaPublisher;
+        this.loginHistoryRecorder = loginHistoryRecorder;
+        this.tokenGenerationCache = tokenGenerationCache;
+        this.revokedTokens = revokedTokens;
     }
 
     @Override
@@ -36,6 +48,9 @@ public class CompositeEventPublisher implements IdentityEventPublisher {
         } catch (Exception e) {
             log.warn("Failed to publish event to Kafka, continuing: {}", e.getMessage());
         }
+        loginHistoryRecorder.publish(event);
+        tokenGenerationCache.publish(event);
+        revokedTokens.publish(event);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.lifeinventory.identity.infrastructure.event;
 
+import com.lifeinventory.identity.config.KafkaConfig;
 import com.lifeinventory.identity.event.IdentityEvent;
 import com.lifeinventory.identity.event.IdentityEventPublisher;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +15,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class KafkaIdentityEventPublisher implements IdentityEventPublisher {
 
-    private static final String TOPIC = "identity-events";
+    private static final String TOPIC = KafkaConfig.IDENTITY_EVENTS_TOPIC;
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
@@ -0,0 +1,79 @@
+package com.lifeinventory.identity.infrastructure.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lifeinventory.identity.config.KafkaConfig;
+import com.lifeinventory.identity.event.IdentityEvent;
+import com.lifeinventory.identity.event.PasswordChanged;
+import com.lifeinventory.identity.event.UserLoggedOut;
+import com.lifeinventory.identity.infrastructure.security.TokenGenerationCache;
+import com.lifeinventory.identity.infrastructure.security.revocation.RevokedTokenRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.AbstractConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Applies token revocations published by any node to this node's in-memory state.
+ * <p>
+ * Every instance reads all partitions of {@code identity-events}, assigned explicitly and without a
+ * consumer group. On assignment it rewinds by one access token lifetime, so a freshly started node
+ * learns about every revocation that still matters.
+ */
+@Slf4j
+@Component
+public class RevocationEventListener extends AbstractConsumerSeekAware {
+
+    private final ObjectMapper objectMapper;
+    private final RevokedTokenRegistry revokedTokens;
+    private final TokenGenerationCache tokenGenerationCache;
+    private final Duration accessTokenExpiration;
+
+    public RevocationEventListener(
+            ObjectMapper objectMapper,
+            RevokedTokenRegistry revokedTokens,
+            TokenGenerationCache tokenGenerationCache,
+            @Value("${security.jwt.access-token-expiration}") long accessTokenExpirationMs
+    ) {
+        this.objectMapper = objectMapper;
+        this.revokedTokens = revokedTokens;
+        this.tokenGenerationCache = tokenGenerationCache;
+        this.accessTokenExpiration = Duration.ofMillis(accessTokenExpirationMs);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        super.onPartitionsAssigned(assignments, callback);
+        long since = System.currentTimeMillis() - accessTokenExpiration.toMillis();
+        callback.seekToTimestamp(assignments.keySet(), since);
+    }
+
+    @KafkaListener(
+            topicPartitions = @org.springframework.kafka.annotation.TopicPartition(
+                    topic = KafkaConfig.IDENTITY_EVENTS_TOPIC,
+                    partitions = "0-" + (KafkaConfig.IDENTITY_EVENTS_PARTITIONS - 1)
+            ),
+            containerFactory = "revocationListenerContainerFactory"
+    )
+    public void onMessage(String message) {
+        try {
+            JsonNode root = objectMapper.readTree(message);
+            IdentityEvent event = switch (root.path("eventType").asText()) {
+                case "UserLoggedOut" -> objectMapper.treeToValue(root.get("payload"), UserLoggedOut.class);
+                case "PasswordChanged" -> objectMapper.treeToValue(root.get("payload"), PasswordChanged.class);
+                default -> null;
+            };
+            if (event != null) {
+                revokedTokens.publish(event);
+                tokenGenerationCache.publish(event);
+            }
+        } catch (Exception e) {
+            log.warn("Skipping unreadable identity event: {}", e.getMessage());
+        }
+    }
+}
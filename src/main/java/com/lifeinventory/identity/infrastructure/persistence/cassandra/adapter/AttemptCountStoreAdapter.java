@@ -0,0 +1,72 @@
+package com.lifeinventory.identity.infrastructure.persistence.cassandra.adapter;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.lifeinventory.identity.infrastructure.security.AttemptCountStore;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores attempt counts in {@code attempt_counts}, one partition per scope and window with a row
+ * per key and node.
+ * <p>
+ * Each node overwrites its own rows with its running total, so no counters or lightweight
+ * transactions are needed and a retried write is harmless. Rows expire with a TTL once their
+ * window no longer matters. A sync writes its rows as one single-partition batch and reads the
+ * totals back with one query.
+ */
+@Component
+public class AttemptCountStoreAdapter implements AttemptCountStore {
+
+    private final CqlSession session;
+    private final PreparedStatement insert;
+    private final PreparedStatement selectByKeys;
+
+    public AttemptCountStoreAdapter(CqlSession session) {
+        this.session = session;
+        this.insert = session.prepare("""
+                INSERT INTO attempt_counts (scope, window_start, attempt_key, node_id, attempts)
+                VALUES (?, ?, ?, ?, ?)
+                USING TTL ?
+                """);
+        this.selectByKeys = session.prepare("""
+                SELECT attempt_key, attempts
+                FROM attempt_counts
+                WHERE scope = ? AND window_start = ? AND attempt_key IN ?
+                """);
+    }
+
+    @Override
+    public void record(String scope, Instant windowStart, String nodeId, Map<String, Long> attempts, Duration ttl) {
+        if (attempts.isEmpty()) {
+            return;
+        }
+        int ttlSeconds = (int) Math.max(1, ttl.toSeconds());
+        BatchStatementBuilder batch = BatchStatement.builder(DefaultBatchType.UNLOGGED);
+        attempts.forEach((key, count) ->
+                batch.addStatement(insert.bind(scope, windowStart, key, nodeId, count, ttlSeconds)));
+        session.execute(batch.build());
+    }
+
+    @Override
+    public Map<String, Long> totals(String scope, Instant windowStart, Collection<String> keys) {
+        Map<String, Long> totals = new HashMap<>();
+        if (keys.isEmpty()) {
+            return totals;
+        }
+        for (Row row : session.execute(selectByKeys.bind(scope, windowStart, List.copyOf(keys)))) {
+            totals.merge(row.getString("attempt_key"), row.getLong("attempts"), Long::sum);
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,68 @@
+package com.lifeinventory.identity.infrastructure.persistence.cassandra.adapter;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.lifeinventory.identity.infrastructure.security.HashingCalibration;
+import com.lifeinventory.identity.infrastructure.security.HashingCalibrationStore;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Stores hashing calibrations in {@code password_hashing_calibrations}, one row per signature.
+ */
+@Component
+public class HashingCalibrationStoreAdapter implements HashingCalibrationStore {
+
+    private final CqlSession session;
+    private final PreparedStatement insert;
+    private final PreparedStatement select;
+
+    public HashingCalibrationStoreAdapter(CqlSession session) {
+        this.session = session;
+        this.insert = session.prepare("""
+                INSERT INTO password_hashing_calibrations
+                    (cpu_signature, memory_kib, iterations, parallelism, p50_micros, target_micros, calibrated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """);
+        this.select = session.prepare("""
+                SELECT cpu_signature, memory_kib, iterations, parallelism, p50_micros, target_micros, calibrated_at
+                FROM password_hashing_calibrations
+                WHERE cpu_signature = ?
+                """);
+    }
+
+    @Override
+    public Optional<HashingCalibration> find(String cpuSignature) {
+        return Optional.ofNullable(session.execute(select.bind(cpuSignature)).one())
+                .map(HashingCalibrationStoreAdapter::toCalibration);
+    }
+
+    @Override
+    public void save(HashingCalibration calibration) {
+        session.execute(insert.bind(
+                calibration.cpuSignature(),
+                calibration.memoryKib(),
+                calibration.iterations(),
+                calibration.parallelism(),
+                calibration.p50() != null ? calibration.p50().toNanos() / 1_000 : null,
+                calibration.target().toNanos() / 1_000,
+                calibration.calibratedAt()
+        ));
+    }
+
+    private static HashingCalibration toCalibration(Row row) {
+        return new HashingCalibration(
+                row.getString("cpu_signature"),
+                row.getInt("memory_kib"),
+                row.getInt("iterations"),
+                row.getInt("parallelism"),
+                row.isNull("p50_micros") ? null : Duration.ofNanos(row.getLong("p50_micros") * 1_000),
+                Duration.ofNanos(row.getLong("target_micros") * 1_000),
+                row.getInstant("calibrated_at"),
+                HashingCalibration.Source.STORED
+        );
+    }
+}
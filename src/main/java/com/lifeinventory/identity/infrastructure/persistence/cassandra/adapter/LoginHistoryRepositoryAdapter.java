@@ -0,0 +1,98 @@
+package com.lifeinventory.identity.infrastructure.persistence.cassandra.adapter;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.lifeinventory.identity.infrastructure.persistence.cassandra.entity.LoginHistoryEntity;
+import com.lifeinventory.identity.infrastructure.persistence.cassandra.mapper.EntityMapper;
+import com.lifeinventory.identity.infrastructure.persistence.cassandra.repository.CassandraLoginHistoryRepository;
+import com.lifeinventory.identity.model.LoginHistoryCursor;
+import com.lifeinventory.identity.model.LoginHistoryEntry;
+import com.lifeinventory.identity.repository.LoginHistoryRepository;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+public class LoginHistoryRepositoryAdapter implements LoginHistoryRepository {
+
+    /**
+     * Month partitions to walk back through; matches the table's default TTL.
+     */
+    private static final int RETENTION_MONTHS = 13;
+
+    private final CassandraLoginHistoryRepository cassandraRepository;
+    private final EntityMapper mapper;
+    private final CqlSession session;
+    private final PreparedStatement insert;
+
+    public LoginHistoryRepositoryAdapter(
+            CassandraLoginHistoryRepository cassandraRepository,
+            EntityMapper mapper,
+            CqlSession session
+    ) {
+        this.cassandraRepository = cassandraRepository;
+        this.mapper = mapper;
+        this.session = session;
+        this.insert = session.prepare("""
+                INSERT INTO auth_history_by_user (user_id, month, occurred_at, event_id, ip_address, user_agent)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """);
+    }
+
+    @Override
+    public void saveAll(List<LoginHistoryEntry> entries) {
+        // Batches are only cheap within a partition, so write one unlogged batch per (user, month)
+        var partitions = entries.stream()
+                .map(mapper::toEntity)
+                .collect(Collectors.groupingBy(entity ->
+                        List.of(entity.getKey().getUserId(), entity.getKey().getMonth())));
+
+        Flux.fromIterable(partitions.values())
+                .flatMap(partition -> Mono.fromCompletionStage(session.executeAsync(toBatch(partition))))
+                .then()
+                .block();
+    }
+
+    @Override
+    public List<LoginHistoryEntry> findByUserId(UUID userId, LoginHistoryCursor before, int limit) {
+        Instant from = before != null ? before.occurredAt() : Instant.now();
+        YearMonth newest = YearMonth.from(from.atZone(ZoneOffset.UTC));
+
+        // Walk month partitions newest-first and stop querying as soon as the page is full
+        return Flux.range(0, RETENTION_MONTHS + 1)
+                .concatMap(offset -> {
+                    int month = mapper.monthBucket(newest.minusMonths(offset));
+                    return offset == 0 && before != null
+                            ? cassandraRepository.findByMonthBefore(userId, month, before.occurredAt(), before.eventId(), limit)
+                            : cassandraRepository.findByMonth(userId, month, limit);
+                })
+                .take(limit)
+                .map(mapper::toDomain)
+                .collectList()
+                .block();
+    }
+
+    private BatchStatement toBatch(List<LoginHistoryEntity> partition) {
+        var batch = BatchStatement.builder(DefaultBatchType.UNLOGGED);
+        for (LoginHistoryEntity entity : partition) {
+            batch.addStatement(insert.bind(
+                    entity.getKey().getUserId(),
+                    entity.getKey().getMonth(),
+                    entity.getKey().getOccurredAt(),
+                    entity.getKey().getEventId(),
+                    entity.getIpAddress(),
+                    entity.getUserAgent()
+            ));
+        }
+        return batch.build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.lifeinventory.identity.infrastructure.persistence.cassandra.adapter;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.lifeinventory.identity.model.RefreshTokenFamily;
+import com.lifeinventory.identity.repository.RefreshTokenFamilyRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores refresh token families in {@code refresh_token_families}, one partition per user.
+ * <p>
+ * Rows are written with a TTL matching the current token's expiry, so abandoned families
+ * disappear on their own. Rotation is a lightweight transaction on {@code current_token_id}.
+ * <p>
+ * Rows that rotation may update are only ever deleted through lightweight transactions as well.
+ * A plain delete carries a client timestamp, while a concurrent rotation commits through Paxos,
+ * possibly with a later timestamp, and would bring the deleted family back.
+ * <p>
+ * Creating a family reads the user's partition and writes the new row together with the
+ * deletions of evicted families as one conditional single-partition batch. Each deletion only
+ * applies if the family has not been rotated since it was read; otherwise nothing is written and
+ * the families are read again. Concurrent logins of one user may each see the same count and
+ * leave the partition briefly above the cap; the next login trims it again.
+ */
+@Component
+public class RefreshTokenFamilyRepositoryAdapter implements RefreshTokenFamilyRepository {
+
+    private static final int MAX_EVICTION_ATTEMPTS = 3;
+
+    private final CqlSession session;
+    private final PreparedStatement insert;
+    private final PreparedStatement select;
+    private final PreparedStatement selectByUser;
+    private final PreparedStatement rotate;
+    private final PreparedStatement delete;
+    private final PreparedStatement evict;
+
+    public RefreshTokenFamilyRepositoryAdapter(CqlSession session) {
+        this.session = session;
+        this.insert = session.prepare("""
+                INSERT INTO refresh_token_families (user_id, family_id, current_token_id, rotated_at, expires_at)
+                VALUES (?, ?, ?, ?, ?)
+                USING TTL ?
+                """);
+        this.select = session.prepare("""
+                SELECT user_id, family_id, current_token_id, rotated_at, expires_at
+                FROM refresh_token_families
+                WHERE user_id = ? AND family_id = ?
+                """);
+        this.selectByUser = session.prepare("""
+                SELECT user_id, family_id, current_token_id, rotated_at, expires_at
+                FROM refresh_token_families
+                WHERE user_id = ?
+                """);
+        this.rotate = session.prepare("""
+                UPDATE refresh_token_families USING TTL ?
+                SET current_token_id = ?, rotated_at = ?, expires_at = ?
+                WHERE user_id = ? AND family_id = ?
+                IF current_token_id = ?
+                """);
+        this.delete = session.prepare("""
+                DELETE FROM refresh_token_families
+                WHERE user_id = ? AND family_id = ?
+                IF EXISTS
+                """);
+        this.evict = session.prepare("""
+                DELETE FROM refresh_token_families
+                WHERE user_id = ? AND family_id = ?
+                IF current_token_id = ?
+                """);
+    }
+
+    @Override
+    public void create(RefreshTokenFamily family, int maxFamilies) {
+        for (int attempt = 1; attempt <= MAX_EVICTION_ATTEMPTS; attempt++) {
+            List<RefreshTokenFamily> existing = new ArrayList<>();
+            for (Row row : session.execute(selectByUser.bind(family.userId()))) {
+                existing.add(toDomain(row));
+            }
+            List<RefreshTokenFamily> evicted = RefreshTokenFamily.evictionsFor(existing, maxFamilies);
+            if (evicted.isEmpty()) {
+                break;
+            }
+
+            BatchStatementBuilder batch = BatchStatement.builder(DefaultBatchType.UNLOGGED);
+            batch.addStatement(bindInsert(family));
+            for (RefreshTokenFamily oldest : evicted) {
+                batch.addStatement(evict.bind(oldest.userId(), oldest.familyId(), oldest.currentTokenId()));
+            }
+            if (session.execute(batch.build()).wasApplied()) {
+                return;
+            }
+            // A family to evict was rotated or revoked meanwhile; pick again
+        }
+        // Within the cap, or still contended: the next login trims the partition
+        session.execute(bindInsert(family));
+    }
+
+    @Override
+    public Optional<RefreshTokenFamily> findById(UUID userId, UUID familyId) {
+        return Optional.ofNullable(session.execute(select.bind(userId, familyId)).one())
+                .map(RefreshTokenFamilyRepositoryAdapter::toDomain);
+    }
+
+    @Override
+    public boolean rotate(UUID userId, UUID familyId, UUID presentedTokenId, UUID nextTokenId, Instant expiresAt) {
+        // Every regular column is rewritten so the whole row takes the new TTL
+        return session.execute(rotate.bind(
+                ttlSeconds(expiresAt),
+                nextTokenId,
+                Instant.now(),
+                expiresAt,
+                userId,
+                familyId,
+                presentedTokenId
+        )).wasApplied();
+    }
+
+    @Override
+    public void revoke(UUID userId, UUID familyId) {
+        session.execute(delete.bind(userId, familyId));
+    }
+
+    private BoundStatement bindInsert(RefreshTokenFamily family) {
+        return insert.bind(
+                family.userId(),
+                family.familyId(),
+                family.currentTokenId(),
+                family.rotatedAt(),
+                family.expiresAt(),
+                ttlSeconds(family.expiresAt())
+        );
+    }
+
+    private static int ttlSeconds(Instant expiresAt) {
+        return (int) Math.max(1, Duration.between(Instant.now(), expiresAt).toSeconds());
+    }
+
+    private static RefreshTokenFamily toDomain(Row row) {
+        return new RefreshTokenFamily(
+                row.getUuid("user_id"),
+                row.getUuid("family_id"),
+                row.getUuid("current_token_id"),
+                row.getInstant("rotated_at"),
+                row.getInstant("expires_at")
+        );
+    }
+}
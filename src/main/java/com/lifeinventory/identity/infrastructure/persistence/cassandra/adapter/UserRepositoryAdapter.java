@@ -1,32 +1,85 @@
 package com.lifeinventory.identity.infrastructure.persistence.cassandra.adapter;
 
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.lifeinventory.identity.infrastructure.persistence.cassandra.entity.UserEntity;
 import com.lifeinventory.identity.infrastructure.persistence.cassandra.mapper.EntityMapper;
 import com.lifeinventory.identity.infrastructure.persistence.cassandra.repository.CassandraUserRepository;
 import com.lifeinventory.identity.model.AuthProvider;
 import com.lifeinventory.identity.model.User;
 import com.lifeinventory.identity.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Stores users in {@code users}.
+ * <p>
+ * Only {@link #create} writes the whole row. The password hash and token generation are changed
+ * by lightweight transactions alone, and general saves leave them out, so a save based on a stale
+ * read cannot undo a password change or revocation. Keeping those columns free of plain writes
+ * also keeps the lightweight transactions' timestamps consistent.
+ */
 @Component
-@RequiredArgsConstructor
 public class UserRepositoryAdapter implements UserRepository {
 
     private final CassandraUserRepository cassandraRepository;
     private final EntityMapper mapper;
+    private final CqlSession session;
+    private final PreparedStatement updateDetails;
+
+    public UserRepositoryAdapter(
+            CassandraUserRepository cassandraRepository,
+            EntityMapper mapper,
+            CqlSession session
+    ) {
+        this.cassandraRepository = cassandraRepository;
+        this.mapper = mapper;
+        this.session = session;
+        this.updateDetails = session.prepare("""
+                UPDATE users SET
+                    email = ?, auth_provider = ?, external_id = ?,
+                    display_name = ?, first_name = ?, last_name = ?, avatar_url = ?, locale = ?, timezone = ?,
+                    roles = ?, permissions = ?, email_verified = ?, active = ?, created_at = ?, updated_at = ?
+                WHERE id = ?
+                """);
+    }
 
     @Override
-    public User save(User user) {
-        var entity = mapper.toEntity(user);
-        return cassandraRepository.save(entity)
+    public User create(User user) {
+        return cassandraRepository.insert(mapper.toEntity(user))
                 .map(mapper::toDomain)
                 .block();
     }
 
+    @Override
+    public User save(User user) {
+        UserEntity entity = mapper.toEntity(user);
+        session.execute(updateDetails.bind(
+                entity.getEmail(),
+                entity.getAuthProvider(),
+                entity.getExternalId(),
+                entity.getDisplayName(),
+                entity.getFirstName(),
+                entity.getLastName(),
+                entity.getAvatarUrl(),
+                entity.getLocale(),
+                entity.getTimezone(),
+                entity.getRoles(),
+                entity.getPermissions(),
+                entity.isEmailVerified(),
+                entity.isActive(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getId()
+        ));
+        return user;
+    }
+
     @Override
     public Optional<User> findById(UUID userId) {
         return cassandraRepository.findById(userId)
@@ -68,6 +121,31 @@ public class UserRepositoryAdapter implements UserRepository {
                 .block();
     }
 
+    @Override
+    public boolean updatePasswordHash(UUID userId, String expectedHash, String newHash) {
+        return Boolean.TRUE.equals(cassandraRepository.updatePasswordHashIf(userId, expectedHash, newHash).block());
+    }
+
+    @Override
+    public boolean changePassword(UUID userId, String expectedHash, long expectedGeneration, String newHash) {
+        return applied(cassandraRepository.changePasswordIf(
+                userId, expectedHash, expectedGeneration, newHash, expectedGeneration + 1))
+                // Rows written before token generations existed have none; they are at generation 0
+                || expectedGeneration == 0 && applied(cassandraRepository.changePasswordIf(
+                        userId, expectedHash, null, newHash, 1));
+    }
+
+    @Override
+    public boolean advanceTokenGeneration(UUID userId, long expectedGeneration) {
+        return applied(cassandraRepository.updateTokenGenerationIf(userId, expectedGeneration, expectedGeneration + 1))
+                || expectedGeneration == 0 && applied(cassandraRepository.updateTokenGenerationIf(userId, null, 1));
+    }
+
+    @Override
+    public void recordLogin(UUID userId, Instant loginAt) {
+        cassandraRepository.updateLastLoginAt(userId, loginAt).block();
+    }
+
     @Override
     public void deleteById(UUID userId) {
         cassandraRepository.deleteById(userId).block();
@@ -92,4 +170,8 @@ public class UserRepositoryAdapter implements UserRepository {
     public long countActive() {
         return Optional.ofNullable(cassandraRepository.countByActive(true).block()).orElse(0L);
     }
+
+    private static boolean applied(Mono<Boolean> conditionalUpdate) {
+        return Boolean.TRUE.equals(conditionalUpdate.block());
+    }
 }
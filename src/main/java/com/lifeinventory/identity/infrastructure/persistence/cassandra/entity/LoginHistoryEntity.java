@@ -0,0 +1,26 @@
+package com.lifeinventory.identity.infrastructure.persistence.cassandra.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("auth_history_by_user")
+public class LoginHistoryEntity {
+
+    @PrimaryKey
+    private LoginHistoryKey key;
+
+    @Column("ip_address")
+    private String ipAddress;
+
+    @Column("user_agent")
+    private String userAgent;
+}
@@ -38,4 +38,10 @@ public class TokenEntity {
 
     @Column("revoked")
     private boolean revoked;
+
+    @Column("generation")
+    private Long generation;
+
+    @Column("family_id")
+    private UUID familyId;
 }
@@ -72,4 +72,7 @@ public class UserEntity {
 
     @Column("updated_at")
     private Instant updatedAt;
+
+    @Column("token_generation")
+    private Long tokenGeneration;
 }
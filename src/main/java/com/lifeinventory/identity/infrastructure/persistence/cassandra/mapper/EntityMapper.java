@@ -1,10 +1,15 @@
 package com.lifeinventory.identity.infrastructure.persistence.cassandra.mapper;
 
+import com.lifeinventory.identity.infrastructure.persistence.cassandra.entity.LoginHistoryEntity;
+import com.lifeinventory.identity.infrastructure.persistence.cassandra.entity.LoginHistoryKey;
 import com.lifeinventory.identity.infrastructure.persistence.cassandra.entity.TokenEntity;
 import com.lifeinventory.identity.infrastructure.persistence.cassandra.entity.UserEntity;
 import com.lifeinventory.identity.model.*;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -31,6 +36,7 @@ public class EntityMapper {
                 .lastLoginAt(user.lastLoginAt())
                 .createdAt(user.createdAt())
                 .updatedAt(user.updatedAt())
+                .tokenGeneration(user.tokenGeneration())
                 .build();
     }
 
@@ -65,7 +71,8 @@ public class EntityMapper {
                 entity.isActive(),
                 entity.getLastLoginAt(),
                 entity.getCreatedAt(),
-                entity.getUpdatedAt()
+                entity.getUpdatedAt(),
+                entity.getTokenGeneration() != null ? entity.getTokenGeneration() : 0L
         );
     }
 
@@ -78,6 +85,8 @@ public class EntityMapper {
                 .expiresAt(token.expiresAt())
                 .createdAt(token.createdAt())
                 .revoked(token.revoked())
+                .generation(token.generation())
+                .familyId(token.familyId())
                 .build();
     }
 
@@ -89,7 +98,43 @@ public class EntityMapper {
                 entity.getTokenValue(),
                 entity.getExpiresAt(),
                 entity.getCreatedAt(),
-                entity.isRevoked()
+                entity.isRevoked(),
+                entity.getGeneration() != null ? entity.getGeneration() : 0L,
+                entity.getFamilyId()
         );
     }
+
+    public LoginHistoryEntity toEntity(LoginHistoryEntry entry) {
+        return LoginHistoryEntity.builder()
+                .key(LoginHistoryKey.builder()
+                        .userId(entry.userId())
+                        .month(monthBucket(entry.occurredAt()))
+                        .occurredAt(entry.occurredAt())
+                        .eventId(entry.eventId())
+                        .build())
+                .ipAddress(entry.ipAddress())
+                .userAgent(entry.userAgent())
+                .build();
+    }
+
+    public LoginHistoryEntry toDomain(LoginHistoryEntity entity) {
+        return new LoginHistoryEntry(
+                entity.getKey().getEventId(),
+                entity.getKey().getUserId(),
+                entity.getKey().getOccurredAt(),
+                entity.getIpAddress(),
+                entity.getUserAgent()
+        );
+    }
+
+    /**
+     * Month partition of the login history table, as {@code yyyyMM} in UTC.
+     */
+    public int monthBucket(Instant instant) {
+        return monthBucket(YearMonth.from(instant.atZone(ZoneOffset.UTC)));
+    }
+
+    public int monthBucket(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
 }
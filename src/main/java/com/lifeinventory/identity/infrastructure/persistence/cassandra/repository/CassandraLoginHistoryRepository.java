@@ -0,0 +1,22 @@
+package com.lifeinventory.identity.infrastructure.persistence.cassandra.repository;
+
+import com.lifeinventory.identity.infrastructure.persistence.cassandra.entity.LoginHistoryEntity;
+import com.lifeinventory.identity.infrastructure.persistence.cassandra.entity.LoginHistoryKey;
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface CassandraLoginHistoryRepository extends ReactiveCassandraRepository<LoginHistoryEntity, LoginHistoryKey> {
+
+    @Query("SELECT * FROM auth_history_by_user WHERE user_id = ?0 AND month = ?1 LIMIT ?2")
+    Flux<LoginHistoryEntity> findByMonth(UUID userId, int month, int limit);
+
+    @Query("SELECT * FROM auth_history_by_user WHERE user_id = ?0 AND month = ?1 "
+            + "AND (occurred_at, event_id) < (?2, ?3) LIMIT ?4")
+    Flux<LoginHistoryEntity> findByMonthBefore(UUID userId, int month, Instant occurredAt, UUID eventId, int limit);
+}
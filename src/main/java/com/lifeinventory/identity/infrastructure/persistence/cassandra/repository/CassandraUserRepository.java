@@ -2,11 +2,13 @@ package com.lifeinventory.identity.infrastructure.persistence.cassandra.reposito
 
 import com.lifeinventory.identity.infrastructure.persistence.cassandra.entity.UserEntity;
 import org.springframework.data.cassandra.repository.AllowFiltering;
+import org.springframework.data.cassandra.repository.Query;
 import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Repository
@@ -26,4 +28,19 @@ public interface CassandraUserRepository extends ReactiveCassandraRepository<Use
 
     @AllowFiltering
     Mono<Long> countByActive(boolean active);
+
+    // Lightweight transactions; the result reports whether it was applied
+    @Query("UPDATE users SET password_hash = ?2 WHERE id = ?0 IF password_hash = ?1")
+    Mono<Boolean> updatePasswordHashIf(UUID id, String expectedHash, String newHash);
+
+    @Query("UPDATE users SET password_hash = ?3, token_generation = ?4"
+            + " WHERE id = ?0 IF password_hash = ?1 AND token_generation = ?2")
+    Mono<Boolean> changePasswordIf(UUID id, String expectedHash, Long expectedGeneration, String newHash,
+                                   long newGeneration);
+
+    @Query("UPDATE users SET token_generation = ?2 WHERE id = ?0 IF token_generation = ?1")
+    Mono<Boolean> updateTokenGenerationIf(UUID id, Long expectedGeneration, long newGeneration);
+
+    @Query("UPDATE users SET last_login_at = ?1 WHERE id = ?0")
+    Mono<Void> updateLastLoginAt(UUID id, Instant lastLoginAt);
 }
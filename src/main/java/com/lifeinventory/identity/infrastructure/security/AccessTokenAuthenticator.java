@@ -0,0 +1,83 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.infrastructure.security.revocation.RevokedTokenRegistry;
+import com.lifeinventory.identity.repository.ServiceClientRepository;
+import com.lifeinventory.identity.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves the principal of an access token: signature, type, revocation, token generation and
+ * account status. Shared by request authentication and token introspection.
+ */
+@Component
+public class AccessTokenAuthenticator {
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+    private final ServiceClientRepository clientRepository;
+    private final TokenGenerationCache tokenGenerationCache;
+    private final RevokedTokenRegistry revokedTokens;
+    private final boolean claimsPrincipal;
+
+    public AccessTokenAuthenticator(
+            JwtService jwtService,
+            UserRepository userRepository,
+            ServiceClientRepository clientRepository,
+            TokenGenerationCache tokenGenerationCache,
+            RevokedTokenRegistry revokedTokens,
+            @Value("${security.jwt.claims-principal:false}") boolean claimsPrincipal
+    ) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.clientRepository = clientRepository;
+        this.tokenGenerationCache = tokenGenerationCache;
+        this.revokedTokens = revokedTokens;
+        this.claimsPrincipal = claimsPrincipal;
+    }
+
+    /**
+     * Authenticate an access token. May load the user, so it blocks.
+     *
+     * @param token the access token
+     * @return the principal, or empty if the token is not a valid, current access token of an active user
+     */
+    public Optional<AuthenticatedUser> authenticate(String token) {
+        return jwtService.verify(token)
+                .filter(JwtClaims::isAccessToken)
+                .filter(claims -> !isRevoked(claims.tokenId()))
+                .flatMap(this::resolvePrincipal)
+                .filter(AuthenticatedUser::active);
+    }
+
+    /**
+     * Whether the access token with the given id has been logged out.
+     */
+    public boolean isRevoked(String tokenId) {
+        return revokedTokens.isRevoked(tokenId);
+    }
+
+    /**
+     * Build the principal from the token alone when it carries roles, permissions and status;
+     * otherwise (mode disabled or token issued before it was enabled) load the user.
+     * Either way, tokens from a revoked token generation are rejected. Service tokens always
+     * carry their principal and stay valid only while the client is registered.
+     */
+    private Optional<AuthenticatedUser> resolvePrincipal(JwtClaims claims) {
+        if (claims.isServiceToken()) {
+            return clientRepository.findByClientId(claims.clientId())
+                    .filter(client -> client.id().equals(claims.userId()) && claims.hasPrincipalClaims())
+                    .map(client -> AuthenticatedUser.from(claims));
+        }
+        if (claimsPrincipal && claims.hasPrincipalClaims()) {
+            return tokenGenerationCache.isCurrent(claims.userId(), claims.generation())
+                    ? Optional.of(AuthenticatedUser.from(claims))
+                    : Optional.empty();
+        }
+        return userRepository.findById(claims.userId())
+                .filter(user -> user.isTokenGenerationCurrent(claims.generation()))
+                .map(user -> AuthenticatedUser.from(user, claims));
+    }
+}
@@ -0,0 +1,92 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.service.PasswordHasher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Argon2id hashing, in the PHC string format ({@code $argon2id$v=19$m=...,t=...,p=...$salt$hash}).
+ * <p>
+ * Memory and parallelism come from {@code security.password-hashing.argon2.*}; iterations are
+ * calibrated to the hardware by {@link PasswordHashingCalibrator}. Hashes record their own
+ * parameters, so changing them only affects new hashes; older ones are reported by
+ * {@link #needsRehash(String)} and upgraded on the next login.
+ */
+@Component
+public class Argon2PasswordHasher implements PasswordHasher {
+
+    static final String PREFIX = "$argon2id$";
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+
+    private final Argon2PasswordEncoder encoder;
+    private final int memoryKib;
+    private final int iterations;
+    private final int parallelism;
+
+    @Autowired
+    public Argon2PasswordHasher(PasswordHashingCalibrator calibrator) {
+        this(calibrator.calibration().memoryKib(), calibrator.calibration().iterations(),
+                calibrator.calibration().parallelism());
+    }
+
+    public Argon2PasswordHasher(int memoryKib, int iterations, int parallelism) {
+        this.encoder = new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, parallelism, memoryKib, iterations);
+        this.memoryKib = memoryKib;
+        this.iterations = iterations;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String hash(String plainPassword) {
+        return encoder.encode(plainPassword);
+    }
+
+    @Override
+    public boolean verify(String plainPassword, String hashedPassword) {
+        return encoder.matches(plainPassword, hashedPassword);
+    }
+
+    /**
+     * A changed memory or parallelism setting counts either way, so those can be lowered as well
+     * as raised. Iterations only count when lower: nodes on faster hardware calibrate to more
+     * iterations, and hashes must not bounce between node types on every login.
+     */
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        if (!hashedPassword.startsWith(PREFIX)) {
+            return true;
+        }
+        // $argon2id$v=19$m=19456,t=2,p=1$salt$hash
+        String[] fields = hashedPassword.split("\\$");
+        if (fields.length != 6) {
+            return true;
+        }
+        int m = -1;
+        int t = -1;
+        int p = -1;
+        for (String parameter : fields[3].split(",")) {
+            int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                return true;
+            }
+            int value;
+            try {
+                value = Integer.parseInt(parameter.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return true;
+            }
+            switch (parameter.substring(0, separator)) {
+                case "m" -> m = value;
+                case "t" -> t = value;
+                case "p" -> p = value;
+                default -> {
+                    return true;
+                }
+            }
+        }
+        return m != memoryKib || p != parallelism || t < iterations;
+    }
+}
@@ -0,0 +1,28 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Attempt counts shared by all nodes, per scope, key and fixed time window.
+ * <p>
+ * Each node writes its own count for a key, so writes are idempotent overwrites and retries or
+ * concurrent nodes never need a read-modify-write.
+ */
+public interface AttemptCountStore {
+
+    /**
+     * Replace this node's attempt counts in a window.
+     *
+     * @param attempts this node's total attempts in the window, per key
+     * @param ttl      how long the counts are needed; they may be dropped afterwards
+     */
+    void record(String scope, Instant windowStart, String nodeId, Map<String, Long> attempts, Duration ttl);
+
+    /**
+     * Attempts in a window summed over all nodes. Keys without attempts may be missing.
+     */
+    Map<String, Long> totals(String scope, Instant windowStart, Collection<String> keys);
+}
@@ -0,0 +1,16 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import java.time.Duration;
+
+/**
+ * Per-key attempt limit, checked and consumed in one step.
+ */
+interface AttemptLimiter {
+
+    /**
+     * Record an attempt for {@code key} if it is within the limit.
+     *
+     * @return zero if the attempt was recorded, otherwise how long until one would be
+     */
+    Duration tryAcquire(String key);
+}
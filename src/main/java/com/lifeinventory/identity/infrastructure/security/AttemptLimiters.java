@@ -0,0 +1,65 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates the limiters behind the attempt throttles and keeps the shared ones in sync.
+ * <p>
+ * By default limits are in-memory token buckets, so each node enforces them on its own. With
+ * {@code security.attempt-throttle.shared} they are counts shared through the
+ * {@link AttemptCountStore}: a limit of {@code capacity} attempts regained one per
+ * {@code refill-interval} becomes {@code capacity} attempts per {@code capacity × refill-interval}
+ * across all nodes, synced every {@code security.attempt-throttle.sync-interval}.
+ */
+@Slf4j
+@Component
+public class AttemptLimiters {
+
+    private final boolean shared;
+    private final int maxEntries;
+    private final AttemptCountStore store;
+    // Restarted nodes count as new ones; the counts of the old one expire with their window
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<SharedAttemptCounts> sharedCounts = new CopyOnWriteArrayList<>();
+
+    public AttemptLimiters(
+            AttemptCountStore store,
+            @Value("${security.attempt-throttle.shared:false}") boolean shared,
+            @Value("${security.attempt-throttle.max-entries:100000}") int maxEntries
+    ) {
+        this.store = store;
+        this.shared = shared;
+        this.maxEntries = maxEntries;
+        log.info("Attempt throttling is {}", shared ? "shared across nodes" : "per node");
+    }
+
+    AttemptLimiter create(String scope, int capacity, Duration refillInterval) {
+        if (!shared) {
+            return new TokenBuckets(capacity, refillInterval, maxEntries, System::nanoTime);
+        }
+        var counts = new SharedAttemptCounts(scope, capacity, refillInterval.multipliedBy(capacity), maxEntries,
+                store, nodeId, System::currentTimeMillis);
+        sharedCounts.add(counts);
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${security.attempt-throttle.sync-interval:1s}")
+    public void sync() {
+        for (SharedAttemptCounts counts : sharedCounts) {
+            try {
+                counts.sync();
+            } catch (RuntimeException e) {
+                // Limits keep working on this node's view until the store is back
+                log.warn("Could not sync attempt counts: {}", e.getMessage());
+            }
+        }
+    }
+}
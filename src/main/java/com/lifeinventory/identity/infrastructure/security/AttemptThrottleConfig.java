@@ -0,0 +1,67 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.service.AttemptThrottle;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Attempt throttles of the endpoints that can be abused to guess passwords or flood inboxes.
+ */
+@Slf4j
+@Configuration
+public class AttemptThrottleConfig {
+
+    private static final AttemptThrottle DISABLED = (ipAddress, normalizedEmail) -> {
+    };
+
+    @Bean
+    public AttemptThrottle loginThrottle(
+            AttemptLimiters limiters,
+            MeterRegistry meterRegistry,
+            @Value("${security.attempt-throttle.login.enabled:true}") boolean enabled,
+            @Value("${security.attempt-throttle.login.per-address.capacity:30}") int addressCapacity,
+            @Value("${security.attempt-throttle.login.per-address.refill-interval:2s}") Duration addressRefill,
+            @Value("${security.attempt-throttle.login.per-account.capacity:10}") int accountCapacity,
+            @Value("${security.attempt-throttle.login.per-account.refill-interval:30s}") Duration accountRefill
+    ) {
+        if (!enabled) {
+            log.warn("Login throttling is disabled");
+            return DISABLED;
+        }
+        return new KeyedAttemptThrottle(
+                "login",
+                "Too many login attempts",
+                limiters.create("login:address", addressCapacity, addressRefill),
+                limiters.create("login:account", accountCapacity, accountRefill),
+                meterRegistry
+        );
+    }
+
+    @Bean
+    public AttemptThrottle passwordResetThrottle(
+            AttemptLimiters limiters,
+            MeterRegistry meterRegistry,
+            @Value("${security.attempt-throttle.forgot-password.enabled:true}") boolean enabled,
+            @Value("${security.attempt-throttle.forgot-password.per-address.capacity:10}") int addressCapacity,
+            @Value("${security.attempt-throttle.forgot-password.per-address.refill-interval:1m}") Duration addressRefill,
+            @Value("${security.attempt-throttle.forgot-password.per-account.capacity:3}") int accountCapacity,
+            @Value("${security.attempt-throttle.forgot-password.per-account.refill-interval:10m}") Duration accountRefill
+    ) {
+        if (!enabled) {
+            log.warn("Password reset request throttling is disabled");
+            return DISABLED;
+        }
+        return new KeyedAttemptThrottle(
+                "forgot-password",
+                "Too many password reset requests",
+                limiters.create("forgot-password:address", addressCapacity, addressRefill),
+                limiters.create("forgot-password:account", accountCapacity, accountRefill),
+                meterRegistry
+        );
+    }
+}
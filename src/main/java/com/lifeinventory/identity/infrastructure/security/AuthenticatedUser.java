@@ -0,0 +1,71 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.model.Permission;
+import com.lifeinventory.identity.model.Role;
+import com.lifeinventory.identity.model.User;
+import lombok.NonNull;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Principal of an authenticated request.
+ * <p>
+ * Built either from access token claims or from the stored user. Endpoints that need the full
+ * {@link User} load it by {@link #id()}. {@code tokenId} and {@code tokenExpiresAt} identify the
+ * access token the request was authenticated with.
+ */
+public record AuthenticatedUser(
+        @NonNull UUID id,
+        String email,
+        @NonNull Set<Role> roles,
+        @NonNull Set<Permission> permissions,
+        boolean active,
+        boolean emailVerified,
+        String tokenId,
+        Instant tokenExpiresAt
+) {
+    public AuthenticatedUser {
+        roles = Set.copyOf(roles);
+        permissions = Set.copyOf(permissions);
+    }
+
+    public static AuthenticatedUser from(User user, JwtClaims claims) {
+        return new AuthenticatedUser(
+                user.id(),
+                user.email(),
+                user.roles(),
+                user.permissions(),
+                user.active(),
+                user.emailVerified(),
+                claims.tokenId(),
+                claims.expiresAt()
+        );
+    }
+
+    public static AuthenticatedUser from(JwtClaims claims) {
+        return new AuthenticatedUser(
+                claims.userId(),
+                claims.email(),
+                claims.roleSet(),
+                claims.permissionSet(),
+                claims.active(),
+                claims.emailVerified(),
+                claims.tokenId(),
+                claims.expiresAt()
+        );
+    }
+
+    public boolean hasRole(Role role) {
+        return roles.contains(role);
+    }
+
+    public boolean hasPermission(Permission permission) {
+        return permissions.contains(permission);
+    }
+
+    public boolean isAdmin() {
+        return hasRole(Role.ADMIN);
+    }
+}
@@ -4,6 +4,10 @@ import com.lifeinventory.identity.service.PasswordHasher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
+/**
+ * Legacy bcrypt hashing. Only verifies hashes created before the switch to Argon2id; see
+ * {@link DelegatingPasswordHasher}.
+ */
 @Component
 public class BcryptPasswordHasher implements PasswordHasher {
 
@@ -18,4 +22,9 @@ public class BcryptPasswordHasher implements PasswordHasher {
     public boolean verify(String plainPassword, String hashedPassword) {
         return encoder.matches(plainPassword, hashedPassword);
     }
+
+    static boolean isBcrypt(String hashedPassword) {
+        return hashedPassword.startsWith("$2a$") || hashedPassword.startsWith("$2b$")
+                || hashedPassword.startsWith("$2y$");
+    }
 }
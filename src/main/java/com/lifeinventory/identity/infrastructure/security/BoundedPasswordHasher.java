@@ -0,0 +1,122 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.exception.ServiceOverloadedException;
+import com.lifeinventory.identity.service.PasswordHasher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password hashing on a dedicated pool sized to the CPU cores, with a bounded queue.
+ * <p>
+ * A password hash takes on the order of 100 ms of CPU, so unbounded concurrency only makes every
+ * login slower. Callers block until their hash is done; when the queue is full they fail fast
+ * with a {@link ServiceOverloadedException} instead of piling up. Queue depth, queue wait and
+ * rejections are exported as {@code identity.password.hashing.*} metrics.
+ */
+@Slf4j
+@Primary
+@Component
+public class BoundedPasswordHasher implements PasswordHasher {
+
+    private final PasswordHasher delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public BoundedPasswordHasher(
+            @Qualifier("delegatingPasswordHasher") PasswordHasher delegate,
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.retry-after:1s}") Duration retryAfter
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.delegate = delegate;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.queueWait = Timer.builder("identity.password.hashing.wait")
+                .description("Time password hashing tasks wait for a thread")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("identity.password.hashing.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("identity.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("identity.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks running")
+                .register(meterRegistry);
+        log.info("Password hashing on {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public String hash(String plainPassword) {
+        return run(() -> delegate.hash(plainPassword));
+    }
+
+    @Override
+    public boolean verify(String plainPassword, String hashedPassword) {
+        return run(() -> delegate.verify(plainPassword, hashedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        // Only parses the hash, no need to queue
+        return delegate.needsRehash(hashedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Too many concurrent password operations", retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
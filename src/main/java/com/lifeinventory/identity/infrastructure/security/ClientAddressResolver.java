@@ -0,0 +1,142 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client address of a request, as far as it can be trusted.
+ * <p>
+ * {@code X-Forwarded-For} is only honoured when the connection comes from a trusted proxy
+ * ({@code server.trusted-proxies}, CIDR ranges). The header is then read from the right, skipping
+ * the hops added by trusted proxies, and the first other address is the client. Whatever a client
+ * puts in the header itself ends up to the left of that and is ignored, so it can neither hide its
+ * address nor pose as another client.
+ */
+@Component
+public class ClientAddressResolver {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final List<Cidr> trustedProxies;
+
+    public ClientAddressResolver(
+            @Value("${server.trusted-proxies:10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,127.0.0.0/8,::1/128,fc00::/7}")
+            List<String> trustedProxies
+    ) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(range -> !range.isEmpty())
+                .map(Cidr::parse)
+                .toList();
+    }
+
+    /**
+     * @return the client address, or null if the connection address is unknown
+     */
+    public String resolve(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return null;
+        }
+        List<String> forwardedFor = request.getHeaders().getOrEmpty(X_FORWARDED_FOR);
+        return resolve(remoteAddress.getAddress(), forwardedFor).getHostAddress();
+    }
+
+    InetAddress resolve(InetAddress peer, List<String> forwardedForHeaders) {
+        List<String> hops = new ArrayList<>();
+        for (String header : forwardedForHeaders) {
+            for (String hop : header.split(",")) {
+                hops.add(hop.trim());
+            }
+        }
+        InetAddress client = peer;
+        for (int i = hops.size() - 1; i >= 0 && isTrusted(client); i--) {
+            InetAddress hop = parseLiteral(hops.get(i));
+            if (hop == null) {
+                // Not an address; the nearest trusted proxy is the best we know
+                break;
+            }
+            client = hop;
+        }
+        return client;
+    }
+
+    private boolean isTrusted(InetAddress address) {
+        for (Cidr range : trustedProxies) {
+            if (range.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses an IP literal, with an optional port, without ever resolving a host name.
+     */
+    static InetAddress parseLiteral(String hop) {
+        String address = hop;
+        if (address.startsWith("[")) {
+            int end = address.indexOf(']');
+            if (end < 0) {
+                return null;
+            }
+            address = address.substring(1, end);
+        } else if (address.indexOf(':') == address.lastIndexOf(':') && address.indexOf(':') > 0) {
+            // IPv4 with port
+            address = address.substring(0, address.indexOf(':'));
+        }
+        boolean ipv4 = address.matches("\\d{1,3}(\\.\\d{1,3}){3}");
+        boolean ipv6 = address.contains(":") && address.matches("[0-9A-Fa-f:.]+");
+        if (!ipv4 && !ipv6) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(address);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private record Cidr(byte[] network, int prefixLength) {
+
+        static Cidr parse(String range) {
+            int slash = range.indexOf('/');
+            InetAddress address = parseLiteral(slash < 0 ? range : range.substring(0, slash));
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy range: " + range);
+            }
+            byte[] network = address.getAddress();
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(range.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid trusted proxy range: " + range);
+            }
+            return new Cidr(network, prefixLength);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.model.Role;
+import com.lifeinventory.identity.model.ServiceClient;
+import com.lifeinventory.identity.repository.ServiceClientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Service clients registered in configuration and held in memory.
+ * <p>
+ * {@code security.clients.registrations} lists {@code clientId:sha256Hex[:ROLE+ROLE]} entries
+ * separated by commas, where {@code sha256Hex} is the hex SHA-256 digest of the client secret.
+ * Clients without roles get {@link Role#SYSTEM}.
+ */
+@Slf4j
+@Component
+public class ConfiguredServiceClientRepository implements ServiceClientRepository {
+
+    private static final Pattern SHA_256_HEX = Pattern.compile("[0-9a-fA-F]{64}");
+
+    private final Map<String, ServiceClient> clients;
+
+    public ConfiguredServiceClientRepository(@Value("${security.clients.registrations:}") String registrations) {
+        this.clients = parse(registrations);
+        log.info("Registered {} service clients", clients.size());
+    }
+
+    @Override
+    public Optional<ServiceClient> findByClientId(String clientId) {
+        return Optional.ofNullable(clients.get(clientId));
+    }
+
+    static Map<String, ServiceClient> parse(String registrations) {
+        Map<String, ServiceClient> result = new HashMap<>();
+        for (String entry : registrations.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            if (parts.length < 2 || parts.length > 3 || !SHA_256_HEX.matcher(parts[1]).matches()) {
+                throw new IllegalArgumentException(
+                        "Invalid service client registration, expected clientId:sha256Hex[:ROLE+ROLE]: " + parts[0]);
+            }
+            Set<Role> roles = EnumSet.noneOf(Role.class);
+            if (parts.length == 3) {
+                for (String role : parts[2].split("\\+")) {
+                    roles.add(Role.valueOf(role.trim()));
+                }
+            } else {
+                roles.add(Role.SYSTEM);
+            }
+            if (result.put(parts[0], ServiceClient.of(parts[0], parts[1].toLowerCase(), roles)) != null) {
+                throw new IllegalArgumentException("Service client registered twice: " + parts[0]);
+            }
+        }
+        return Map.copyOf(result);
+    }
+}
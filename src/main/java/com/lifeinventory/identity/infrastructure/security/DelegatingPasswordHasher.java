@@ -0,0 +1,44 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.service.PasswordHasher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hashes new passwords with Argon2id and verifies both Argon2id and legacy bcrypt hashes,
+ * recognised by their prefix. Every bcrypt hash needs a rehash.
+ */
+@Component
+public class DelegatingPasswordHasher implements PasswordHasher {
+
+    private final Argon2PasswordHasher argon2;
+    private final BcryptPasswordHasher bcrypt;
+
+    public DelegatingPasswordHasher(Argon2PasswordHasher argon2, BcryptPasswordHasher bcrypt) {
+        this.argon2 = argon2;
+        this.bcrypt = bcrypt;
+    }
+
+    @Override
+    public String hash(String plainPassword) {
+        return argon2.hash(plainPassword);
+    }
+
+    @Override
+    public boolean verify(String plainPassword, String hashedPassword) {
+        if (hashedPassword == null) {
+            return false;
+        }
+        if (hashedPassword.startsWith(Argon2PasswordHasher.PREFIX)) {
+            return argon2.verify(plainPassword, hashedPassword);
+        }
+        if (BcryptPasswordHasher.isBcrypt(hashedPassword)) {
+            return bcrypt.verify(plainPassword, hashedPassword);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        return argon2.needsRehash(hashedPassword);
+    }
+}
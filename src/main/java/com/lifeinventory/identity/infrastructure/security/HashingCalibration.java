@@ -0,0 +1,38 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Argon2id parameters chosen for the hardware this node runs on.
+ * <p>
+ * {@code cpuSignature} identifies the hardware and the inputs of the calibration, so a stored
+ * calibration is only reused by nodes that would have measured the same. {@code p50} is the
+ * median hashing time measured with the chosen parameters; it is null when calibration is off.
+ */
+public record HashingCalibration(
+        @NonNull String cpuSignature,
+        int memoryKib,
+        int iterations,
+        int parallelism,
+        Duration p50,
+        @NonNull Duration target,
+        @NonNull Instant calibratedAt,
+        @NonNull Source source
+) {
+    public enum Source {
+        /** Benchmarked at startup on this node. */
+        MEASURED,
+        /** Benchmarked earlier by a node with the same signature. */
+        STORED,
+        /** Calibration disabled; the configured parameters are used as they are. */
+        CONFIGURED
+    }
+
+    public HashingCalibration withSource(Source source) {
+        return new HashingCalibration(cpuSignature, memoryKib, iterations, parallelism, p50, target, calibratedAt,
+                source);
+    }
+}
@@ -0,0 +1,25 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import java.util.Optional;
+
+/**
+ * Keeps hashing calibrations, so nodes on the same hardware agree on the parameters and
+ * benchmark only once.
+ */
+public interface HashingCalibrationStore {
+
+    /**
+     * Find the calibration made for a signature.
+     *
+     * @param cpuSignature the hardware and calibration input signature
+     * @return the calibration if one was saved
+     */
+    Optional<HashingCalibration> find(String cpuSignature);
+
+    /**
+     * Save a calibration, replacing any earlier one for its signature.
+     *
+     * @param calibration the calibration to save
+     */
+    void save(HashingCalibration calibration);
+}
@@ -1,7 +1,5 @@
 package com.lifeinventory.identity.infrastructure.security;
 
-import com.lifeinventory.identity.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,13 +15,15 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter implements WebFilter {
 
     private static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final AccessTokenAuthenticator authenticator;
+
+    public JwtAuthenticationFilter(AccessTokenAuthenticator authenticator) {
+        this.authenticator = authenticator;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -35,23 +35,17 @@ public class JwtAuthenticationFilter implements WebFilter {
 
         String token = authHeader.substring(BEARER_PREFIX.length());
 
-        if (!jwtService.isAccessToken(token)) {
-            return chain.filter(exchange);
-        }
-
-        return jwtService.extractUserId(token)
-                .map(userId -> Mono.justOrEmpty(userRepository.findById(userId)))
-                .orElse(Mono.empty())
-                .flatMap(user -> {
-                    var authorities = user.roles().stream()
+        return Mono.justOrEmpty(authenticator.authenticate(token))
+                .flatMap(principal -> {
+                    var authorities = principal.roles().stream()
                             .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
                             .collect(Collectors.toList());
 
-                    user.permissions().forEach(permission ->
+                    principal.permissions().forEach(permission ->
                             authorities.add(new SimpleGrantedAuthority(permission.name())));
 
                     var authentication = new UsernamePasswordAuthenticationToken(
-                            user,
+                            principal,
                             null,
                             authorities
                     );
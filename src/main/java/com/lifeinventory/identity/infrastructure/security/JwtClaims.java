@@ -0,0 +1,136 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.lifeinventory.identity.model.Permission;
+import com.lifeinventory.identity.model.Role;
+import com.lifeinventory.identity.model.TokenType;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Claims of a verified JWT, decoded once.
+ * <p>
+ * {@code permissions} and {@code status} are only present in tokens issued with
+ * {@code security.jwt.claims-principal} enabled. Tokens issued before token generations
+ * existed have generation 0. {@code clientId} is only present in tokens issued to service clients.
+ */
+public record JwtClaims(
+        UUID userId,
+        String email,
+        String type,
+        List<String> roles,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt,
+        Long permissions,
+        Integer status,
+        long generation,
+        String clientId
+) {
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    static final String PERMISSIONS_CLAIM = "perms";
+    static final String STATUS_CLAIM = "st";
+    static final String GENERATION_CLAIM = "gen";
+    static final String FINGERPRINT_CLAIM = "fp";
+    static final String CLIENT_CLAIM = "client";
+
+    private static final int STATUS_ACTIVE = 1;
+    private static final int STATUS_EMAIL_VERIFIED = 1 << 1;
+    private static final Permission[] PERMISSIONS = Permission.values();
+
+    public static JwtClaims from(DecodedJWT jwt) {
+        List<String> roles = jwt.getClaim("roles").asList(String.class);
+        Long generation = jwt.getClaim(GENERATION_CLAIM).asLong();
+        return new JwtClaims(
+                UUID.fromString(jwt.getSubject()),
+                jwt.getClaim("email").asString(),
+                jwt.getClaim("type").asString(),
+                roles != null ? List.copyOf(roles) : List.of(),
+                jwt.getId(),
+                jwt.getIssuedAtAsInstant(),
+                jwt.getExpiresAtAsInstant(),
+                jwt.getClaim(PERMISSIONS_CLAIM).asLong(),
+                jwt.getClaim(STATUS_CLAIM).asInt(),
+                generation != null ? generation : 0L,
+                jwt.getClaim(CLIENT_CLAIM).asString()
+        );
+    }
+
+    /**
+     * Value of the {@code type} claim for a token type, e.g. {@code email_verification}.
+     */
+    public static String typeOf(TokenType type) {
+        return type.name().toLowerCase();
+    }
+
+    public boolean isAccessToken() {
+        return ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH.equals(type);
+    }
+
+    /**
+     * Whether the token was issued to a service client rather than a user.
+     */
+    public boolean isServiceToken() {
+        return clientId != null;
+    }
+
+    /**
+     * Whether the token carries everything needed to authenticate without loading the user.
+     */
+    public boolean hasPrincipalClaims() {
+        return permissions != null && status != null;
+    }
+
+    public Set<Role> roleSet() {
+        Set<Role> result = EnumSet.noneOf(Role.class);
+        for (String role : roles) {
+            result.add(Role.valueOf(role));
+        }
+        return result;
+    }
+
+    public Set<Permission> permissionSet() {
+        Set<Permission> result = EnumSet.noneOf(Permission.class);
+        long bits = permissions != null ? permissions : 0L;
+        for (int i = 0; i < PERMISSIONS.length; i++) {
+            if ((bits & (1L << i)) != 0) {
+                result.add(PERMISSIONS[i]);
+            }
+        }
+        return result;
+    }
+
+    public boolean active() {
+        return status != null && (status & STATUS_ACTIVE) != 0;
+    }
+
+    public boolean emailVerified() {
+        return status != null && (status & STATUS_EMAIL_VERIFIED) != 0;
+    }
+
+    /**
+     * Encode permissions as a bitmask over {@link Permission} ordinals.
+     * New permissions must therefore be appended to the enum, never inserted.
+     */
+    static long encodePermissions(Set<Permission> permissions) {
+        long bits = 0L;
+        for (Permission permission : permissions) {
+            bits |= 1L << permission.ordinal();
+        }
+        return bits;
+    }
+
+    static int encodeStatus(boolean active, boolean emailVerified) {
+        return (active ? STATUS_ACTIVE : 0) | (emailVerified ? STATUS_EMAIL_VERIFIED : 0);
+    }
+}
@@ -0,0 +1,321 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.model.Role;
+import com.lifeinventory.identity.model.ServiceClient;
+import com.lifeinventory.identity.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Mints the service's ES256 JWTs without going through the generic java-jwt builder.
+ * <p>
+ * The header only depends on the signing key, so it is encoded once per key. Claims are written
+ * as JSON straight into a per-thread buffer, base64url-encoded in place and signed with a
+ * per-thread {@link Signature} that stays initialised for the current key. Apart from the
+ * resulting string, minting a token allocates next to nothing. The output is an ordinary JWT
+ * accepted by any ES256 verifier.
+ */
+final class JwtMinter {
+
+    // Produces the raw R || S form JWS expects instead of DER
+    private static final String SIGNATURE_ALGORITHM = "SHA256withECDSAinP1363Format";
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Role[] ROLES = Role.values();
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    private volatile EncodedHeader header;
+
+    /**
+     * Mint a signed token for a user.
+     *
+     * @param key             the current signing key
+     * @param user            the subject
+     * @param type            value of the {@code type} claim
+     * @param issuedAt        issue time, written with second precision
+     * @param expiresAt       expiry, written with second precision
+     * @param tokenId         value of the {@code jti} claim
+     * @param fingerprint     value of the {@code fp} claim, or null to omit it
+     * @param principalClaims whether to include the permission and status claims
+     */
+    String mint(SigningKey key, User user, String type, Instant issuedAt, Instant expiresAt, UUID tokenId,
+                String fingerprint, boolean principalClaims) {
+        Scratch s = scratch.get();
+        s.length = 0;
+
+        writeStandardClaims(s, user.id(), user.email(), type, user.roles(), issuedAt, expiresAt,
+                user.tokenGeneration(), tokenId);
+        if (fingerprint != null) {
+            s.raw(",\"" + JwtClaims.FINGERPRINT_CLAIM + "\":").string(fingerprint);
+        }
+        if (principalClaims) {
+            s.raw(",\"" + JwtClaims.PERMISSIONS_CLAIM + "\":").number(JwtClaims.encodePermissions(user.permissions()))
+                    .raw(",\"" + JwtClaims.STATUS_CLAIM + "\":")
+                    .number(JwtClaims.encodeStatus(user.active(), user.emailVerified()));
+        }
+        s.raw("}");
+
+        return s.sign(key, headerFor(key));
+    }
+
+    /**
+     * Mint a signed access token for a service client. It always carries the permission and
+     * status claims, as there is no user to load.
+     */
+    String mint(SigningKey key, ServiceClient client, Instant issuedAt, Instant expiresAt, UUID tokenId) {
+        Scratch s = scratch.get();
+        s.length = 0;
+
+        writeStandardClaims(s, client.id(), null, JwtClaims.ACCESS, client.roles(), issuedAt, expiresAt, 0L, tokenId);
+        s.raw(",\"" + JwtClaims.CLIENT_CLAIM + "\":").string(client.clientId())
+                .raw(",\"" + JwtClaims.PERMISSIONS_CLAIM + "\":").number(JwtClaims.encodePermissions(client.permissions()))
+                .raw(",\"" + JwtClaims.STATUS_CLAIM + "\":").number(JwtClaims.encodeStatus(true, false))
+                .raw("}");
+
+        return s.sign(key, headerFor(key));
+    }
+
+    /**
+     * Open the claims object and write the claims every token has; {@code email} is omitted when null.
+     */
+    private static void writeStandardClaims(Scratch s, UUID subject, String email, String type, Set<Role> roles,
+                                            Instant issuedAt, Instant expiresAt, long generation, UUID tokenId) {
+        s.raw("{\"sub\":\"").uuid(subject).raw("\"");
+        if (email != null) {
+            s.raw(",\"email\":").string(email);
+        }
+        s.raw(",\"type\":").string(type).raw(",\"roles\":[");
+        boolean first = true;
+        for (Role role : ROLES) {
+            // Iterating the enum keeps the order stable without sorting or collecting the set
+            if (roles.contains(role)) {
+                s.raw(first ? "\"" : ",\"").raw(role.name()).raw("\"");
+                first = false;
+            }
+        }
+        s.raw("],\"iat\":").number(issuedAt.getEpochSecond())
+                .raw(",\"exp\":").number(expiresAt.getEpochSecond())
+                .raw(",\"" + JwtClaims.GENERATION_CLAIM + "\":").number(generation)
+                .raw(",\"jti\":\"").uuid(tokenId).raw("\"");
+    }
+
+    private byte[] headerFor(SigningKey key) {
+        EncodedHeader current = header;
+        if (current == null || current.key() != key) {
+            String json = "{\"alg\":\"" + JwtSigningKeys.ES256 + "\",\"typ\":\"JWT\",\"kid\":\"" + key.keyId() + "\"}";
+            byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+            byte[] encoded = new byte[encodedLength(raw.length)];
+            base64Url(raw, raw.length, encoded, 0);
+            current = new EncodedHeader(key, encoded);
+            header = current;
+        }
+        return current.encoded();
+    }
+
+    private static int encodedLength(int length) {
+        return length / 3 * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    /**
+     * Unpadded base64url encoding of {@code src[0, length)} into {@code dst} at {@code offset}.
+     *
+     * @return the offset after the last written byte
+     */
+    private static int base64Url(byte[] src, int length, byte[] dst, int offset) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[offset++] = BASE64_URL[bits >>> 18];
+            dst[offset++] = BASE64_URL[bits >>> 12 & 0x3F];
+            dst[offset++] = BASE64_URL[bits >>> 6 & 0x3F];
+            dst[offset++] = BASE64_URL[bits & 0x3F];
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xFF) << 16;
+            dst[offset++] = BASE64_URL[bits >>> 18];
+            dst[offset++] = BASE64_URL[bits >>> 12 & 0x3F];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8;
+            dst[offset++] = BASE64_URL[bits >>> 18];
+            dst[offset++] = BASE64_URL[bits >>> 12 & 0x3F];
+            dst[offset++] = BASE64_URL[bits >>> 6 & 0x3F];
+        }
+        return offset;
+    }
+
+    private record EncodedHeader(SigningKey key, byte[] encoded) {
+    }
+
+    /**
+     * Per-thread buffers and signer.
+     */
+    private static final class Scratch {
+
+        private byte[] json = new byte[512];
+        private int length;
+        private byte[] token = new byte[1024];
+        private final byte[] signatureBytes = new byte[SIGNATURE_LENGTH];
+        private SigningKey key;
+        private Signature signature;
+
+        Scratch raw(String ascii) {
+            ensure(ascii.length());
+            for (int i = 0; i < ascii.length(); i++) {
+                json[length++] = (byte) ascii.charAt(i);
+            }
+            return this;
+        }
+
+        Scratch string(String value) {
+            ensure(value.length() + 2);
+            json[length++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    ensure(2);
+                    json[length++] = '\\';
+                    json[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    ensure(6);
+                    json[length++] = '\\';
+                    json[length++] = 'u';
+                    json[length++] = '0';
+                    json[length++] = '0';
+                    json[length++] = HEX[c >>> 4];
+                    json[length++] = HEX[c & 0xF];
+                } else if (c < 0x80) {
+                    ensure(1);
+                    json[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    ensure(2);
+                    json[length++] = (byte) (0xC0 | c >>> 6);
+                    json[length++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    ensure(4);
+                    json[length++] = (byte) (0xF0 | codePoint >>> 18);
+                    json[length++] = (byte) (0x80 | codePoint >>> 12 & 0x3F);
+                    json[length++] = (byte) (0x80 | codePoint >>> 6 & 0x3F);
+                    json[length++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    // Lone surrogates are written as U+FFFD, like String.getBytes does
+                    char encoded = Character.isSurrogate(c) ? '\uFFFD' : c;
+                    ensure(3);
+                    json[length++] = (byte) (0xE0 | encoded >>> 12);
+                    json[length++] = (byte) (0x80 | encoded >>> 6 & 0x3F);
+                    json[length++] = (byte) (0x80 | encoded & 0x3F);
+                }
+            }
+            ensure(1);
+            json[length++] = '"';
+            return this;
+        }
+
+        Scratch number(long value) {
+            ensure(20);
+            if (value == 0) {
+                json[length++] = '0';
+                return this;
+            }
+            if (value < 0) {
+                if (value == Long.MIN_VALUE) {
+                    return raw(Long.toString(value));
+                }
+                json[length++] = '-';
+                value = -value;
+            }
+            int end = length + digits(value);
+            for (int i = end - 1; i >= length; i--) {
+                json[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length = end;
+            return this;
+        }
+
+        Scratch uuid(UUID value) {
+            ensure(36);
+            hex(value.getMostSignificantBits() >>> 32, 8);
+            json[length++] = '-';
+            hex(value.getMostSignificantBits() >>> 16, 4);
+            json[length++] = '-';
+            hex(value.getMostSignificantBits(), 4);
+            json[length++] = '-';
+            hex(value.getLeastSignificantBits() >>> 48, 4);
+            json[length++] = '-';
+            hex(value.getLeastSignificantBits(), 12);
+            return this;
+        }
+
+        String sign(SigningKey signingKey, byte[] header) {
+            int needed = header.length + 2 + encodedLength(length) + encodedLength(SIGNATURE_LENGTH);
+            if (token.length < needed) {
+                token = new byte[Math.max(needed, token.length * 2)];
+            }
+            System.arraycopy(header, 0, token, 0, header.length);
+            int offset = header.length;
+            token[offset++] = '.';
+            offset = base64Url(json, length, token, offset);
+
+            try {
+                Signature signer = signerFor(signingKey);
+                signer.update(token, 0, offset);
+                signer.sign(signatureBytes, 0, SIGNATURE_LENGTH);
+            } catch (GeneralSecurityException e) {
+                // Drop the signer; it is in an unknown state
+                key = null;
+                throw new IllegalStateException("Failed to sign token", e);
+            }
+
+            token[offset++] = '.';
+            offset = base64Url(signatureBytes, SIGNATURE_LENGTH, token, offset);
+            return new String(token, 0, offset, StandardCharsets.ISO_8859_1);
+        }
+
+        private Signature signerFor(SigningKey signingKey) throws GeneralSecurityException {
+            if (key != signingKey) {
+                if (signingKey.privateKey() == null) {
+                    throw new IllegalStateException("Key " + signingKey.keyId() + " cannot sign");
+                }
+                signature = Signature.getInstance(SIGNATURE_ALGORITHM);
+                signature.initSign(signingKey.privateKey());
+                key = signingKey;
+            }
+            // sign() resets the signer to its freshly initialised state
+            return signature;
+        }
+
+        private void hex(long bits, int count) {
+            for (int i = count - 1; i >= 0; i--) {
+                json[length + i] = HEX[(int) (bits & 0xF)];
+                bits >>>= 4;
+            }
+            length += count;
+        }
+
+        private void ensure(int additional) {
+            if (length + additional > json.length) {
+                json = Arrays.copyOf(json, Math.max(length + additional, json.length * 2));
+            }
+        }
+
+        private static int digits(long value) {
+            int digits = 1;
+            while (value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
+    }
+}
@@ -1,33 +1,83 @@
 package com.lifeinventory.identity.infrastructure.security;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import com.auth0.jwt.interfaces.JWTVerifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Verifies JWTs and decodes their claims.
+ * <p>
+ * Verified claims are cached by the SHA-256 digest of the token until the token expires, so a
+ * client repeating the same bearer token skips signature verification and JSON decoding. Only
+ * successfully verified tokens are cached; a token can only hit the cache if it is byte-for-byte
+ * identical to one that passed verification.
+ */
 @Slf4j
 @Service
 public class JwtService {
 
-    private final JWTVerifier verifier;
-    private final Algorithm algorithm;
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtSigningKeys signingKeys;
+    private final Cache<ByteBuffer, JwtClaims> verifiedClaims;
+    private volatile String keySetTag;
+
+    public JwtService(
+            JwtSigningKeys signingKeys,
+            @Value("${security.jwt.claims-cache.max-size:100000}") long claimsCacheMaxSize
+    ) {
+        this.signingKeys = signingKeys;
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
 
-    public JwtService(@Value("${security.jwt.secret}") String secret) {
-        this.algorithm = Algorithm.HMAC256(secret);
-        this.verifier = JWT.require(algorithm).build();
+    /**
+     * Verify a token once and decode its claims.
+     *
+     * @param token the encoded JWT
+     * @return the claims, or empty if the token is invalid or expired
+     */
+    public Optional<JwtClaims> verify(String token) {
+        invalidateOnKeyChange();
+        ByteBuffer key = digest(token);
+        JwtClaims cached = verifiedClaims.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<JwtClaims> claims = validateToken(token).map(JwtClaims::from);
+        claims.filter(c -> c.expiresAt() != null)
+                .ifPresent(c -> verifiedClaims.put(key, c));
+        return claims;
     }
 
     public Optional<DecodedJWT> validateToken(String token) {
         try {
-            DecodedJWT jwt = verifier.verify(token);
-            return Optional.of(jwt);
+            DecodedJWT decoded = JWT.decode(token);
+            return signingKeys.verifierFor(decoded.getAlgorithm(), decoded.getKeyId())
+                    .map(verifier -> verifier.verify(decoded));
         } catch (JWTVerificationException e) {
             log.debug("Token validation failed: {}", e.getMessage());
             return Optional.empty();
@@ -35,29 +85,56 @@ public class JwtService {
     }
 
     public Optional<UUID> extractUserId(String token) {
-        return validateToken(token)
-                .map(jwt -> UUID.fromString(jwt.getSubject()));
+        return verify(token).map(JwtClaims::userId);
     }
 
     public Optional<String> extractEmail(String token) {
-        return validateToken(token)
-                .map(jwt -> jwt.getClaim("email").asString());
+        return verify(token).map(JwtClaims::email);
     }
 
     public Optional<String> extractTokenType(String token) {
-        return validateToken(token)
-                .map(jwt -> jwt.getClaim("type").asString());
+        return verify(token).map(JwtClaims::type);
     }
 
     public boolean isAccessToken(String token) {
-        return extractTokenType(token)
-                .map(type -> "access".equals(type))
-                .orElse(false);
+        return verify(token).map(JwtClaims::isAccessToken).orElse(false);
     }
 
     public boolean isRefreshToken(String token) {
-        return extractTokenType(token)
-                .map(type -> "refresh".equals(type))
-                .orElse(false);
+        return verify(token).map(JwtClaims::isRefreshToken).orElse(false);
+    }
+
+    /**
+     * Drop cached claims when the key set changes, so tokens of a retired key stop verifying.
+     */
+    private void invalidateOnKeyChange() {
+        String current = signingKeys.jwkSet().etag();
+        if (!current.equals(keySetTag)) {
+            verifiedClaims.invalidateAll();
+            keySetTag = current;
+        }
+    }
+
+    static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, JwtClaims claims, long currentTime) {
+            long remainingMillis = claims.expiresAt().toEpochMilli() - Instant.now().toEpochMilli();
+            return Math.max(0, remainingMillis) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,309 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * ES256 keys used to sign and verify JWTs, and the published JWK Set.
+ * <p>
+ * Keys are read from {@code security.jwt.signing.key-dir}, one JSON file per key:
+ * <pre>
+ * {"kid": "2026-10", "privateKey": "&lt;base64 PKCS#8&gt;", "publicKey": "&lt;base64 X.509&gt;",
+ *  "signFrom": "2026-10-01T00:00:00Z", "verifyUntil": "2026-12-01T00:00:00Z"}
+ * </pre>
+ * The directory is re-read every {@code security.jwt.signing.reload-interval}. Each load builds an
+ * immutable snapshot (verifiers indexed by {@code kid}, signing keys, serialized JWK Set) that
+ * replaces the previous one atomically, so lookups never lock or try keys in turn. A file that
+ * fails to parse keeps the previous snapshot.
+ * <p>
+ * Without a key directory, the single key from {@code security.jwt.signing.private-key} /
+ * {@code public-key} is used, or an ephemeral key if none is configured.
+ * <p>
+ * Access tokens signed with the former shared HS256 secret remain verifiable until
+ * {@code security.jwt.legacy-hs256.accept-until}, which is off by default. Such tokens were only
+ * issued before the switch, so the deadline is capped at one access token lifetime after startup;
+ * after it the legacy verifier is dropped. Other token types are never accepted with HS256.
+ */
+@Slf4j
+@Component
+public class JwtSigningKeys {
+
+    public static final String ES256 = "ES256";
+    public static final String HS256 = "HS256";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path keyDirectory;
+    private final Instant legacyAcceptUntil;
+    private volatile JWTVerifier legacyVerifier;
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public JwtSigningKeys(
+            @Value("${security.jwt.signing.key-dir:}") String keyDirectory,
+            @Value("${security.jwt.signing.private-key:}") String privateKey,
+            @Value("${security.jwt.signing.public-key:}") String publicKey,
+            @Value("${security.jwt.secret:}") String legacySecret,
+            @Value("${security.jwt.legacy-hs256.accept-until:}") String legacyAcceptUntil,
+            @Value("${security.jwt.access-token-expiration:3600000}") long accessTokenExpirationMs
+    ) {
+        this(keyDirectory, privateKey, publicKey, legacySecret,
+                legacyDeadline(legacyAcceptUntil, Duration.ofMillis(accessTokenExpirationMs)));
+    }
+
+    /**
+     * @param legacyAcceptUntil until when legacy HS256 access tokens are accepted, or null for never
+     */
+    public JwtSigningKeys(String keyDirectory, String privateKey, String publicKey, String legacySecret,
+                          Instant legacyAcceptUntil) {
+        this.keyDirectory = keyDirectory.isBlank() ? null : Path.of(keyDirectory);
+        boolean acceptLegacy = legacyAcceptUntil != null && !legacySecret.isBlank()
+                && Instant.now().isBefore(legacyAcceptUntil);
+        this.legacyAcceptUntil = acceptLegacy ? legacyAcceptUntil : null;
+        this.legacyVerifier = acceptLegacy
+                ? JWT.require(Algorithm.HMAC256(legacySecret)).withClaim("type", JwtClaims.ACCESS).build()
+                : null;
+        if (acceptLegacy) {
+            log.warn("Accepting legacy HS256 access tokens until {}", legacyAcceptUntil);
+        }
+
+        if (this.keyDirectory != null) {
+            this.snapshot = Snapshot.of(loadDirectory(this.keyDirectory));
+        } else if (!privateKey.isBlank() && !publicKey.isBlank()) {
+            this.snapshot = Snapshot.of(List.of(SigningKey.of(null,
+                    decodePublicKey(publicKey), decodePrivateKey(privateKey), null, null)));
+        } else {
+            this.snapshot = Snapshot.of(List.of(generateKey()));
+        }
+    }
+
+    /**
+     * Re-read the key directory and swap in the new key set.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.signing.reload-interval:60s}")
+    public void reload() {
+        if (keyDirectory == null) {
+            return;
+        }
+        try {
+            Snapshot reloaded = Snapshot.of(loadDirectory(keyDirectory));
+            if (!reloaded.keyIds().equals(snapshot.keyIds())) {
+                log.info("Loaded JWT signing keys {}", reloaded.keyIds());
+            }
+            snapshot = reloaded;
+        } catch (RuntimeException e) {
+            log.error("Failed to reload JWT signing keys, keeping {}: {}", snapshot.keyIds(), e.getMessage());
+        }
+    }
+
+    /**
+     * The key new tokens are signed with: the signing-capable key with the latest
+     * {@code signFrom} that has already started.
+     */
+    public SigningKey currentSigningKey() {
+        Instant now = Instant.now();
+        for (SigningKey key : snapshot.signingKeys()) {
+            if (key.canSignAt(now)) {
+                return key;
+            }
+        }
+        throw new IllegalStateException("No JWT signing key is active");
+    }
+
+    /**
+     * Verifier for a token with the given header values.
+     *
+     * @return the verifier, or empty if tokens with this algorithm or key are not accepted
+     */
+    public Optional<JWTVerifier> verifierFor(String algorithm, String keyId) {
+        if (ES256.equals(algorithm) && keyId != null) {
+            SigningKey key = snapshot.keysById().get(keyId);
+            return key != null && key.canVerifyAt(Instant.now())
+                    ? Optional.of(key.verifier())
+                    : Optional.empty();
+        }
+        if (HS256.equals(algorithm)) {
+            return Optional.ofNullable(legacyVerifier());
+        }
+        return Optional.empty();
+    }
+
+    private JWTVerifier legacyVerifier() {
+        JWTVerifier verifier = legacyVerifier;
+        if (verifier != null && !Instant.now().isBefore(legacyAcceptUntil)) {
+            legacyVerifier = null;
+            log.info("Stopped accepting legacy HS256 access tokens");
+            return null;
+        }
+        return verifier;
+    }
+
+    /**
+     * The configured deadline for legacy tokens, capped at one access token lifetime from now.
+     */
+    private static Instant legacyDeadline(String acceptUntil, Duration accessTokenLifetime) {
+        if (acceptUntil.isBlank()) {
+            return null;
+        }
+        Instant requested = Instant.parse(acceptUntil);
+        Instant cap = Instant.now().plus(accessTokenLifetime);
+        if (requested.isAfter(cap)) {
+            log.warn("security.jwt.legacy-hs256.accept-until {} is beyond the access token lifetime, using {}",
+                    requested, cap);
+            return cap;
+        }
+        return requested;
+    }
+
+    /**
+     * The JWK Set document, serialized once per key set.
+     */
+    public JwkSet jwkSet() {
+        return snapshot.jwkSet();
+    }
+
+    private List<SigningKey> loadDirectory(Path directory) {
+        List<SigningKey> keys = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : files) {
+                keys.add(loadKey(file));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT key directory " + directory, e);
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No JWT keys found in " + directory);
+        }
+        return keys;
+    }
+
+    private SigningKey loadKey(Path file) {
+        try {
+            JsonNode json = objectMapper.readTree(file.toFile());
+            return SigningKey.of(
+                    text(json, "kid"),
+                    decodePublicKey(Objects.requireNonNull(text(json, "publicKey"), "publicKey is required")),
+                    text(json, "privateKey") != null ? decodePrivateKey(text(json, "privateKey")) : null,
+                    text(json, "signFrom") != null ? Instant.parse(text(json, "signFrom")) : null,
+                    text(json, "verifyUntil") != null ? Instant.parse(text(json, "verifyUntil")) : null
+            );
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Invalid JWT key file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String text(JsonNode json, String field) {
+        JsonNode value = json.get(field);
+        return value != null && !value.isNull() ? value.asText() : null;
+    }
+
+    private static SigningKey generateKey() {
+        log.warn("No JWT signing key configured, generating an ephemeral ES256 key; "
+                + "tokens will not survive a restart or validate on other instances");
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            var keyPair = generator.generateKeyPair();
+            return SigningKey.of(null, (ECPublicKey) keyPair.getPublic(), (ECPrivateKey) keyPair.getPrivate(),
+                    null, null);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate ES256 key", e);
+        }
+    }
+
+    private static ECPublicKey decodePublicKey(String base64) {
+        try {
+            return (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getMimeDecoder().decode(base64)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid JWT public key", e);
+        }
+    }
+
+    private static ECPrivateKey decodePrivateKey(String base64) {
+        try {
+            return (ECPrivateKey) KeyFactory.getInstance("EC")
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(base64)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid JWT private key", e);
+        }
+    }
+
+    /**
+     * Serialized JWK Set with its entity tag. Callers must not modify the document array.
+     */
+    public record JwkSet(byte[] document, String etag) {
+    }
+
+    /**
+     * Immutable key set. Signing keys are ordered by {@code signFrom}, newest first.
+     */
+    private record Snapshot(
+            Map<String, SigningKey> keysById,
+            List<SigningKey> signingKeys,
+            JwkSet jwkSet
+    ) {
+        static Snapshot of(List<SigningKey> keys) {
+            Map<String, SigningKey> byId = new HashMap<>();
+            for (SigningKey key : keys) {
+                if (byId.put(key.keyId(), key) != null) {
+                    throw new IllegalStateException("Duplicate JWT key id " + key.keyId());
+                }
+            }
+            List<SigningKey> signing = keys.stream()
+                    .filter(key -> key.privateKey() != null)
+                    .sorted(Comparator.comparing(SigningKey::signFrom).reversed())
+                    .toList();
+
+            // Publish every key still valid for verification, including ones that start signing later
+            Instant now = Instant.now();
+            String json = keys.stream()
+                    .filter(key -> key.canVerifyAt(now))
+                    .sorted(Comparator.comparing(SigningKey::keyId))
+                    .map(SigningKey::toJwk)
+                    .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+            byte[] document = json.getBytes(StandardCharsets.UTF_8);
+
+            return new Snapshot(Map.copyOf(byId), signing, new JwkSet(document, etag(document)));
+        }
+
+        private static String etag(byte[] document) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(document);
+                return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        Set<String> keyIds() {
+            return new TreeSet<>(keysById.keySet());
+        }
+    }
+}
@@ -1,73 +1,112 @@
 package com.lifeinventory.identity.infrastructure.security;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.lifeinventory.identity.model.IdGenerator;
+import com.lifeinventory.identity.model.ServiceClient;
 import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.model.TokenType;
 import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.service.TokenFingerprints;
 import com.lifeinventory.identity.service.TokenGenerator;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Base64;
 
 @Component
 public class JwtTokenGenerator implements TokenGenerator {
 
-    private final Algorithm algorithm;
+    private final JwtSigningKeys signingKeys;
     private final Duration accessTokenExpiration;
     private final Duration refreshTokenExpiration;
+    private final boolean claimsPrincipal;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final JwtMinter minter = new JwtMinter();
     private static final Duration PASSWORD_RESET_EXPIRATION = Duration.ofHours(1);
     private static final Duration EMAIL_VERIFICATION_EXPIRATION = Duration.ofHours(24);
 
     public JwtTokenGenerator(
-            @Value("${security.jwt.secret}") String secret,
+            JwtSigningKeys signingKeys,
             @Value("${security.jwt.access-token-expiration}") long accessTokenExpirationMs,
-            @Value("${security.jwt.refresh-token-expiration}") long refreshTokenExpirationMs
+            @Value("${security.jwt.refresh-token-expiration}") long refreshTokenExpirationMs,
+            @Value("${security.jwt.claims-principal:false}") boolean claimsPrincipal
     ) {
-        this.algorithm = Algorithm.HMAC256(secret);
+        this.signingKeys = signingKeys;
         this.accessTokenExpiration = Duration.ofMillis(accessTokenExpirationMs);
         this.refreshTokenExpiration = Duration.ofMillis(refreshTokenExpirationMs);
+        this.claimsPrincipal = claimsPrincipal;
     }
 
     @Override
     public Token generateAccessToken(User user) {
         String tokenValue = createJwt(user, accessTokenExpiration, "access");
-        return Token.createAccessToken(user.id(), tokenValue, accessTokenExpiration);
+        return Token.createAccessToken(user.id(), tokenValue, accessTokenExpiration, user.tokenGeneration());
     }
 
+    /**
+     * Refresh tokens are only looked up in the token store, so they are 256 random bits
+     * rather than signed JWTs.
+     */
     @Override
     public Token generateRefreshToken(User user) {
-        String tokenValue = createJwt(user, refreshTokenExpiration, "refresh");
-        return Token.createRefreshToken(user.id(), tokenValue, refreshTokenExpiration);
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String tokenValue = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        return Token.createRefreshToken(user.id(), tokenValue, refreshTokenExpiration, user.tokenGeneration());
     }
 
+    /**
+     * Password reset tokens are bound to the user's password hash, so they are not stored and
+     * stop working once the password changes.
+     */
     @Override
     public Token generatePasswordResetToken(User user) {
-        String tokenValue = createJwt(user, PASSWORD_RESET_EXPIRATION, "password_reset");
+        String tokenValue = createJwt(user, PASSWORD_RESET_EXPIRATION, "password_reset",
+                TokenFingerprints.of(user, TokenType.PASSWORD_RESET));
         return Token.createPasswordResetToken(user.id(), tokenValue, PASSWORD_RESET_EXPIRATION);
     }
 
+    /**
+     * Email verification tokens are bound to the user's email and verification state, so they
+     * are not stored and stop working once used or once the email changes.
+     */
     @Override
     public Token generateEmailVerificationToken(User user) {
-        String tokenValue = createJwt(user, EMAIL_VERIFICATION_EXPIRATION, "email_verification");
+        String tokenValue = createJwt(user, EMAIL_VERIFICATION_EXPIRATION, "email_verification",
+                TokenFingerprints.of(user, TokenType.EMAIL_VERIFICATION));
         return Token.createEmailVerificationToken(user.id(), tokenValue, EMAIL_VERIFICATION_EXPIRATION);
     }
 
+    /**
+     * Service tokens are not stored; they carry the client's roles and permissions and are only
+     * checked against the client registry.
+     */
+    @Override
+    public Token generateServiceToken(ServiceClient client, Duration validity) {
+        Instant now = Instant.now();
+        String tokenValue = minter.mint(signingKeys.currentSigningKey(), client, now, now.plus(validity),
+                IdGenerator.next());
+        return Token.createAccessToken(client.id(), tokenValue, validity);
+    }
+
     private String createJwt(User user, Duration expiration, String tokenType) {
+        return createJwt(user, expiration, tokenType, null);
+    }
+
+    private String createJwt(User user, Duration expiration, String tokenType, String stateFingerprint) {
         Instant now = Instant.now();
-        return JWT.create()
-                .withSubject(user.id().toString())
-                .withClaim("email", user.email())
-                .withClaim("type", tokenType)
-                .withClaim("roles", user.roles().stream()
-                        .map(Enum::name)
-                        .collect(Collectors.toList()))
-                .withIssuedAt(now)
-                .withExpiresAt(now.plus(expiration))
-                .withJWTId(UUID.randomUUID().toString())
-                .sign(algorithm);
+        // Permission and status claims let JwtAuthenticationFilter authenticate without loading the user
+        return minter.mint(
+                signingKeys.currentSigningKey(),
+                user,
+                tokenType,
+                now,
+                now.plus(expiration),
+                IdGenerator.next(),
+                stateFingerprint,
+                claimsPrincipal && JwtClaims.ACCESS.equals(tokenType)
+        );
     }
 }
@@ -0,0 +1,58 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.lifeinventory.identity.model.TokenType;
+import com.lifeinventory.identity.model.VerifiedToken;
+import com.lifeinventory.identity.service.TokenVerifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtTokenVerifier implements TokenVerifier {
+
+    private final JwtSigningKeys signingKeys;
+
+    @Override
+    public Optional<VerifiedToken> verify(String tokenValue, TokenType expectedType) {
+        DecodedJWT decoded;
+        try {
+            decoded = JWT.decode(tokenValue);
+        } catch (JWTVerificationException e) {
+            return Optional.empty();
+        }
+
+        var verifier = signingKeys.verifierFor(decoded.getAlgorithm(), decoded.getKeyId());
+        if (verifier.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            verifier.get().verify(decoded);
+        } catch (TokenExpiredException e) {
+            // The signature is checked before expiry, so the claims can be trusted
+            log.debug("Token of type {} has expired", expectedType);
+        } catch (JWTVerificationException e) {
+            log.debug("Token validation failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (!JwtClaims.typeOf(expectedType).equals(decoded.getClaim("type").asString())
+                || decoded.getExpiresAtAsInstant() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new VerifiedToken(
+                UUID.fromString(decoded.getSubject()),
+                expectedType,
+                decoded.getClaim(JwtClaims.FINGERPRINT_CLAIM).asString(),
+                decoded.getExpiresAtAsInstant()
+        ));
+    }
+}
@@ -0,0 +1,56 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.exception.TooManyAttemptsException;
+import com.lifeinventory.identity.service.AttemptThrottle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * Throttle for one operation with one limit per client address and one per account.
+ * <p>
+ * The address limit is checked first, so a client over its limit does not use up the attempts
+ * of the accounts it targets. Refused attempts are counted as {@code identity.attempts.throttled},
+ * tagged by operation and by the limit that refused them.
+ */
+public class KeyedAttemptThrottle implements AttemptThrottle {
+
+    private final String message;
+    private final AttemptLimiter byAddress;
+    private final AttemptLimiter byAccount;
+    private final Counter addressRejections;
+    private final Counter accountRejections;
+
+    KeyedAttemptThrottle(String operation, String message, AttemptLimiter byAddress, AttemptLimiter byAccount,
+                         MeterRegistry meterRegistry) {
+        this.message = message;
+        this.byAddress = byAddress;
+        this.byAccount = byAccount;
+        this.addressRejections = rejections(meterRegistry, operation, "address");
+        this.accountRejections = rejections(meterRegistry, operation, "account");
+    }
+
+    @Override
+    public void acquire(String ipAddress, String normalizedEmail) {
+        if (ipAddress != null) {
+            check(byAddress.tryAcquire(ipAddress), addressRejections);
+        }
+        check(byAccount.tryAcquire(normalizedEmail), accountRejections);
+    }
+
+    private void check(Duration wait, Counter rejections) {
+        if (!wait.isZero()) {
+            rejections.increment();
+            throw new TooManyAttemptsException(message, wait);
+        }
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String operation, String limit) {
+        return Counter.builder("identity.attempts.throttled")
+                .description("Attempts refused before checking credentials or looking up the account")
+                .tag("operation", operation)
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.service.PasswordRehashMonitor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Logs skipped password hash upgrades and counts them as {@code identity.password.rehash.skipped},
+ * tagged by outcome. A steady rate of failures means outdated hashes are not being replaced.
+ */
+@Slf4j
+@Component
+public class MeteredPasswordRehashMonitor implements PasswordRehashMonitor {
+
+    private final Map<Outcome, Counter> skipped = new EnumMap<>(Outcome.class);
+
+    public MeteredPasswordRehashMonitor(MeterRegistry meterRegistry) {
+        for (Outcome outcome : Outcome.values()) {
+            skipped.put(outcome, Counter.builder("identity.password.rehash.skipped")
+                    .description("Password hash upgrades after login that were not written")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void upgradeSkipped(UUID userId, Outcome outcome, Throwable cause) {
+        skipped.get(outcome).increment();
+        if (cause == null) {
+            log.warn("Password hash upgrade for user {} skipped: {}", userId, outcome);
+        } else {
+            log.warn("Password hash upgrade for user {} skipped: {}", userId, outcome, cause);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Picks the Argon2id iteration count for the hardware this node runs on.
+ * <p>
+ * At startup the hash is benchmarked with the configured memory and parallelism, and the highest
+ * iteration count whose median time stays within {@code target-p50} is chosen, never fewer than
+ * the configured iterations. The result is saved under a signature of the CPU and the
+ * calibration inputs; nodes with the same signature reuse it instead of benchmarking. Every
+ * Argon2id hash records its own parameters, so hashes from differently calibrated nodes verify
+ * everywhere. The decision is reported under {@code passwordHashing} in the Actuator info endpoint.
+ */
+@Slf4j
+@Component
+public class PasswordHashingCalibrator implements InfoContributor {
+
+    private static final String PASSWORD = "calibration-password";
+
+    private final HashingCalibration calibration;
+
+    public PasswordHashingCalibrator(
+            HashingCalibrationStore store,
+            @Value("${security.password-hashing.calibration.enabled:true}") boolean enabled,
+            @Value("${security.password-hashing.calibration.target-p50:100ms}") Duration target,
+            @Value("${security.password-hashing.calibration.max-iterations:10}") int maxIterations,
+            @Value("${security.password-hashing.calibration.samples:5}") int samples,
+            @Value("${security.password-hashing.argon2.memory-kib:19456}") int memoryKib,
+            @Value("${security.password-hashing.argon2.iterations:2}") int iterations,
+            @Value("${security.password-hashing.argon2.parallelism:1}") int parallelism
+    ) {
+        String signature = cpuSignature() + "|m=" + memoryKib + ",p=" + parallelism
+                + ",min-t=" + iterations + ",max-t=" + maxIterations + ",target=" + target.toMillis() + "ms";
+        if (!enabled) {
+            this.calibration = new HashingCalibration(signature, memoryKib, iterations, parallelism, null, target,
+                    Instant.now(), HashingCalibration.Source.CONFIGURED);
+        } else {
+            this.calibration = find(store, signature)
+                    .map(stored -> stored.withSource(HashingCalibration.Source.STORED))
+                    .orElseGet(() -> measure(store, signature, target, samples, memoryKib, iterations,
+                            Math.max(iterations, maxIterations), parallelism));
+        }
+        log.info("Password hashing: Argon2id m={} t={} p={} ({}, p50 {}, target {})",
+                calibration.memoryKib(), calibration.iterations(), calibration.parallelism(),
+                calibration.source(), calibration.p50(), target);
+    }
+
+    public HashingCalibration calibration() {
+        return calibration;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("algorithm", "argon2id");
+        details.put("memoryKib", calibration.memoryKib());
+        details.put("iterations", calibration.iterations());
+        details.put("parallelism", calibration.parallelism());
+        details.put("p50Ms", calibration.p50() != null ? calibration.p50().toNanos() / 1_000_000.0 : null);
+        details.put("targetP50Ms", calibration.target().toMillis());
+        details.put("source", calibration.source());
+        details.put("calibratedAt", calibration.calibratedAt());
+        details.put("cpuSignature", calibration.cpuSignature());
+        builder.withDetail("passwordHashing", details);
+    }
+
+    /**
+     * The most iterations whose median hashing time meets the target, between {@code min} and
+     * {@code max}. Hashing time grows linearly with iterations, so one measurement at {@code min}
+     * gives an estimate that is then confirmed, stepping down while it misses the target.
+     *
+     * @param p50At median hashing time for an iteration count
+     * @return the chosen iteration count and its median time
+     */
+    static Choice chooseIterations(IntFunction<Duration> p50At, Duration target, int min, int max) {
+        Map<Integer, Duration> measured = new HashMap<>();
+        IntFunction<Duration> p50 = iterations -> measured.computeIfAbsent(iterations, p50At::apply);
+
+        Duration base = p50.apply(min);
+        if (base.compareTo(target) > 0 || base.isZero()) {
+            return new Choice(min, base);
+        }
+        long estimate = target.toNanos() * min / base.toNanos();
+        int iterations = (int) Math.min(max, Math.max(min, estimate));
+        while (iterations > min && p50.apply(iterations).compareTo(target) > 0) {
+            iterations--;
+        }
+        return new Choice(iterations, p50.apply(iterations));
+    }
+
+    record Choice(int iterations, Duration p50) {
+    }
+
+    private static HashingCalibration measure(HashingCalibrationStore store, String signature, Duration target,
+                                              int samples, int memoryKib, int minIterations, int maxIterations,
+                                              int parallelism) {
+        Choice choice = chooseIterations(
+                iterations -> p50(memoryKib, iterations, parallelism, samples), target, minIterations, maxIterations);
+        if (choice.p50().compareTo(target) > 0) {
+            log.warn("Argon2id with {} iterations takes {} on this hardware, above the {} target",
+                    choice.iterations(), choice.p50(), target);
+        }
+        HashingCalibration measured = new HashingCalibration(signature, memoryKib, choice.iterations(), parallelism,
+                choice.p50(), target, Instant.now(), HashingCalibration.Source.MEASURED);
+        try {
+            store.save(measured);
+        } catch (RuntimeException e) {
+            log.warn("Could not save password hashing calibration: {}", e.getMessage());
+        }
+        return measured;
+    }
+
+    private static Optional<HashingCalibration> find(HashingCalibrationStore store, String signature) {
+        try {
+            return store.find(signature);
+        } catch (RuntimeException e) {
+            log.warn("Could not read password hashing calibration, measuring instead: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Duration p50(int memoryKib, int iterations, int parallelism, int samples) {
+        var encoder = new Argon2PasswordEncoder(16, 32, parallelism, memoryKib, iterations);
+        encoder.encode(PASSWORD);
+        long[] nanos = new long[Math.max(1, samples)];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode(PASSWORD);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[nanos.length / 2]);
+    }
+
+    /**
+     * Architecture, usable cores and CPU model where the OS exposes it.
+     */
+    static String cpuSignature() {
+        String model = "unknown";
+        try (Stream<String> lines = Files.lines(Path.of("/proc/cpuinfo"))) {
+            model = lines.filter(line -> line.startsWith("model name"))
+                    .map(line -> line.substring(line.indexOf(':') + 1).trim())
+                    .findFirst()
+                    .orElse(model);
+        } catch (IOException | RuntimeException e) {
+            // Not Linux, or not readable; architecture and core count still tell node types apart
+        }
+        return System.getProperty("os.arch") + "/" + Runtime.getRuntime().availableProcessors() + "/" + model;
+    }
+}
@@ -31,9 +31,12 @@ public class SecurityConfig {
                 .authorizeExchange(exchanges -> exchanges
                         // Public endpoints
                         .pathMatchers("/actuator/health").permitAll()
+                        .pathMatchers("/.well-known/jwks.json").permitAll()
                         .pathMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/webjars/**").permitAll()
                         // Auth endpoints are public
                         .pathMatchers("/api/v1/auth/**").permitAll()
+                        // Token introspection is for other services only
+                        .pathMatchers("/api/v1/introspect").hasRole("SYSTEM")
                         // All other endpoints require authentication
                         .anyExchange().authenticated()
                 )
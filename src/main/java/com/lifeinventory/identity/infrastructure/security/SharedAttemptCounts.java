@@ -0,0 +1,224 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding-window attempt limit shared by all nodes through an {@link AttemptCountStore}.
+ * <p>
+ * Attempts are counted per fixed window of wall-clock time; the previous window is weighted by
+ * how much of it the sliding window still covers, which refills at {@code limit} attempts per
+ * window like a token bucket. Each node decides from its last view of the cluster-wide counts
+ * plus its own attempts since, so no request waits for the store. {@link #sync()} runs in the
+ * background: it writes this node's counts for the keys attempted since the last sync and reads
+ * back the totals of all nodes. Between syncs a node may accept what other nodes accepted in the
+ * meantime, so the limit holds to within one sync interval of attempts.
+ * <p>
+ * Keys are stored as digests so client addresses and emails do not end up in the store.
+ */
+final class SharedAttemptCounts implements AttemptLimiter {
+
+    private static final int SYNC_CHUNK = 100;
+
+    private final String scope;
+    private final int limit;
+    private final long windowMillis;
+    private final AttemptCountStore store;
+    private final String nodeId;
+    private final LongSupplier clock;
+    private final Cache<String, Counts> counts;
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param limit  attempts per window across all nodes
+     * @param window length of a window, also the time for the limit to be regained
+     * @param clock  wall-clock milliseconds, the same on all nodes give or take clock skew
+     */
+    SharedAttemptCounts(String scope, int limit, Duration window, int maxEntries, AttemptCountStore store,
+                        String nodeId, LongSupplier clock) {
+        if (limit < 1 || window.toMillis() < 1) {
+            throw new IllegalArgumentException("limit and window must be positive");
+        }
+        this.scope = scope;
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.store = store;
+        this.nodeId = nodeId;
+        this.clock = clock;
+        // Counts are only needed while the key's current or previous window lasts
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    @Override
+    public Duration tryAcquire(String key) {
+        String digest = digest(key);
+        long now = clock.getAsLong();
+        long waitMillis = counts.get(digest, k -> new Counts()).tryAcquire(now / windowMillis, now % windowMillis);
+        // Refused keys are synced as well, so this node notices when other nodes stop too
+        active.add(digest);
+        return Duration.ofMillis(waitMillis);
+    }
+
+    /**
+     * Write this node's counts for the keys attempted since the last sync and refresh their
+     * cluster-wide totals. Keys first seen by this node also get the previous window's totals.
+     */
+    void sync() {
+        if (active.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(active);
+        active.removeAll(keys);
+
+        long window = clock.getAsLong() / windowMillis;
+        Map<String, Counts> entries = new LinkedHashMap<>();
+        for (String key : keys) {
+            Counts entry = counts.getIfPresent(key);
+            if (entry != null) {
+                entries.put(key, entry);
+            }
+        }
+        List<String> synced = new ArrayList<>(entries.keySet());
+        for (int from = 0; from < synced.size(); from += SYNC_CHUNK) {
+            sync(window, synced.subList(from, Math.min(synced.size(), from + SYNC_CHUNK)), entries);
+        }
+    }
+
+    private void sync(long window, List<String> keys, Map<String, Counts> entries) {
+        Map<String, Long> own = new LinkedHashMap<>();
+        List<String> unknownPrevious = new ArrayList<>();
+        for (String key : keys) {
+            Counts entry = entries.get(key);
+            long attempts = entry.ownIn(window);
+            if (attempts > 0) {
+                own.put(key, attempts);
+            }
+            if (!entry.knowsPrevious(window)) {
+                unknownPrevious.add(key);
+            }
+        }
+        if (!own.isEmpty()) {
+            // Needed until the window has also stopped being the previous one
+            store.record(scope, windowStart(window), nodeId, own, Duration.ofMillis(windowMillis * 2));
+        }
+
+        Map<String, Long> totals = store.totals(scope, windowStart(window), keys);
+        for (String key : keys) {
+            entries.get(key).observe(window, totals.getOrDefault(key, 0L), own.getOrDefault(key, 0L));
+        }
+        if (!unknownPrevious.isEmpty()) {
+            Map<String, Long> previous = store.totals(scope, windowStart(window - 1), unknownPrevious);
+            for (String key : unknownPrevious) {
+                entries.get(key).observePrevious(window, previous.getOrDefault(key, 0L));
+            }
+        }
+    }
+
+    private Instant windowStart(long window) {
+        return Instant.ofEpochMilli(window * windowMillis);
+    }
+
+    private static String digest(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One key's view of the current and previous window. Guarded by its own monitor, so only
+     * attempts on the same key contend.
+     */
+    private final class Counts {
+
+        private long window = Long.MIN_VALUE;
+        private boolean previousKnown;
+        // Cluster-wide attempts in the previous window
+        private long previousTotal;
+        // Cluster-wide attempts in the current window as of the last sync, including ownSynced
+        private long currentTotal;
+        // This node's attempts in the current window, and how many of them currentTotal includes
+        private long own;
+        private long ownSynced;
+
+        synchronized long tryAcquire(long window, long elapsedMillis) {
+            roll(window);
+            long current = currentTotal + own - ownSynced;
+            double overlap = (double) (windowMillis - elapsedMillis) / windowMillis;
+            if (previousTotal * overlap + current + 1 <= limit) {
+                own++;
+                return 0;
+            }
+            return waitMillis(current, elapsedMillis);
+        }
+
+        /**
+         * Time until the weighted count leaves room for one more attempt, assuming no others.
+         */
+        private long waitMillis(long current, long elapsedMillis) {
+            if (current + 1 > limit) {
+                // Wait for the next window, where this one becomes the previous
+                double overlapAllowed = (double) (limit - 1) / current;
+                return windowMillis - elapsedMillis + (long) Math.ceil(windowMillis * (1 - overlapAllowed));
+            }
+            double overlapAllowed = (double) (limit - current - 1) / previousTotal;
+            long elapsedNeeded = (long) Math.ceil(windowMillis * (1 - overlapAllowed));
+            return Math.max(1, elapsedNeeded - elapsedMillis);
+        }
+
+        private void roll(long window) {
+            if (window == this.window) {
+                return;
+            }
+            boolean adjacent = window == this.window + 1;
+            previousTotal = adjacent ? currentTotal + own - ownSynced : 0;
+            // A window that just ended was observed by this node; an older gap was not
+            previousKnown = adjacent;
+            currentTotal = 0;
+            own = 0;
+            ownSynced = 0;
+            this.window = window;
+        }
+
+        synchronized long ownIn(long window) {
+            return window == this.window ? own : 0;
+        }
+
+        synchronized boolean knowsPrevious(long window) {
+            return window == this.window && previousKnown;
+        }
+
+        synchronized void observe(long window, long total, long ownWritten) {
+            if (window == this.window) {
+                currentTotal = Math.max(total, ownWritten);
+                ownSynced = ownWritten;
+            }
+        }
+
+        synchronized void observePrevious(long window, long total) {
+            if (window == this.window) {
+                previousTotal = Math.max(previousTotal, total);
+                previousKnown = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import lombok.NonNull;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * One ES256 key with its validity window.
+ * <p>
+ * A key signs new tokens from {@code signFrom} until a newer signing key takes over, and is
+ * accepted for verification (and published) until {@code verifyUntil}. Keys without a private
+ * part only verify. Publishing a key before its {@code signFrom} and keeping it until the last
+ * token it signed has expired gives rotation without downtime.
+ */
+public record SigningKey(
+        @NonNull String keyId,
+        @NonNull ECPublicKey publicKey,
+        ECPrivateKey privateKey,
+        @NonNull Instant signFrom,
+        Instant verifyUntil,
+        @NonNull JWTVerifier verifier
+) {
+    public static SigningKey of(String keyId, ECPublicKey publicKey, ECPrivateKey privateKey,
+                                Instant signFrom, Instant verifyUntil) {
+        return new SigningKey(
+                keyId != null && !keyId.isBlank() ? keyId : thumbprint(publicKey),
+                publicKey,
+                privateKey,
+                signFrom != null ? signFrom : Instant.EPOCH,
+                verifyUntil,
+                JWT.require(Algorithm.ECDSA256(publicKey, null)).build()
+        );
+    }
+
+    public Algorithm signingAlgorithm() {
+        if (privateKey == null) {
+            throw new IllegalStateException("Key " + keyId + " cannot sign");
+        }
+        return Algorithm.ECDSA256(publicKey, privateKey);
+    }
+
+    public boolean canSignAt(Instant instant) {
+        return privateKey != null && !signFrom.isAfter(instant) && canVerifyAt(instant);
+    }
+
+    public boolean canVerifyAt(Instant instant) {
+        return verifyUntil == null || verifyUntil.isAfter(instant);
+    }
+
+    /**
+     * JWK representation of the public key.
+     */
+    public String toJwk() {
+        return "{\"kty\":\"EC\",\"crv\":\"P-256\",\"use\":\"sig\",\"alg\":\"" + JwtSigningKeys.ES256
+                + "\",\"kid\":\"" + keyId
+                + "\",\"x\":\"" + coordinate(publicKey.getW().getAffineX())
+                + "\",\"y\":\"" + coordinate(publicKey.getW().getAffineY()) + "\"}";
+    }
+
+    /**
+     * RFC 7638 thumbprint of a P-256 public key.
+     */
+    static String thumbprint(ECPublicKey publicKey) {
+        String canonical = "{\"crv\":\"P-256\",\"kty\":\"EC\",\"x\":\"" + coordinate(publicKey.getW().getAffineX())
+                + "\",\"y\":\"" + coordinate(publicKey.getW().getAffineY()) + "\"}";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * P-256 coordinate as 32 unsigned big-endian bytes, base64url encoded.
+     */
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
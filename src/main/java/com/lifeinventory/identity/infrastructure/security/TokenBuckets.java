@@ -0,0 +1,55 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by string, held in a size-bounded cache.
+ * <p>
+ * Each bucket is a single theoretical arrival time (the GCRA form of a token bucket): taking a
+ * token moves it one refill interval ahead, and the bucket is empty once it is more than
+ * {@code capacity} intervals ahead of now. It is updated by compare-and-set, so attempts on a
+ * key never lock. A bucket untouched for {@code capacity} intervals is full again and expires.
+ * Under key churn beyond {@code maxEntries} the least valuable buckets are evicted and start full.
+ */
+final class TokenBuckets implements AttemptLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    TokenBuckets(int capacity, Duration refillInterval, int maxEntries, LongSupplier nanoClock) {
+        if (capacity < 1 || !refillInterval.isPositive()) {
+            throw new IllegalArgumentException("capacity and refill interval must be positive");
+        }
+        this.intervalNanos = refillInterval.toNanos();
+        this.burstNanos = intervalNanos * capacity;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    @Override
+    public Duration tryAcquire(String key) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(nanoClock.getAsLong()));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return Duration.ofNanos(excess);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.lifeinventory.identity.event.IdentityEvent;
+import com.lifeinventory.identity.event.IdentityEventPublisher;
+import com.lifeinventory.identity.event.PasswordChanged;
+import com.lifeinventory.identity.event.UserLoggedOut;
+import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Current token generation per user, for validating access tokens without loading the user.
+ * <p>
+ * Revoke-all events advance the cached generation, both for revocations made on this node and,
+ * through {@code RevocationEventListener}, on other nodes. Entries also expire, so a missed
+ * event is only honoured until the next reload.
+ */
+@Component
+public class TokenGenerationCache implements IdentityEventPublisher {
+
+    private final LoadingCache<UUID, Long> generations;
+
+    public TokenGenerationCache(
+            UserRepository userRepository,
+            @Value("${security.jwt.generation-cache.max-size:100000}") long maxSize,
+            @Value("${security.jwt.generation-cache.ttl:30s}") Duration ttl
+    ) {
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(userId -> userRepository.findById(userId)
+                        .map(User::tokenGeneration)
+                        .orElse(null));
+    }
+
+    /**
+     * Whether a token issued in the given generation is still honoured for the user.
+     * Unknown users have no valid tokens.
+     */
+    public boolean isCurrent(UUID userId, long generation) {
+        Long current = generations.get(userId);
+        return current != null && generation >= current;
+    }
+
+    /**
+     * Record that the user's current generation is at least the given one.
+     */
+    public void advance(UUID userId, long generation) {
+        generations.asMap().merge(userId, generation, Math::max);
+    }
+
+    @Override
+    public void publish(IdentityEvent event) {
+        if (event instanceof UserLoggedOut loggedOut && loggedOut.allDevices()) {
+            advance(loggedOut.userId(), loggedOut.tokenGeneration());
+        } else if (event instanceof PasswordChanged passwordChanged) {
+            advance(passwordChanged.userId(), passwordChanged.tokenGeneration());
+        }
+    }
+
+    @Override
+    public void publishAll(List<IdentityEvent> events) {
+        events.forEach(this::publish);
+    }
+}
@@ -0,0 +1,100 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Answers whether access tokens presented to other services are active, and what they grant.
+ * <p>
+ * Results, including negative ones, are kept for a short time by token digest, so a gateway
+ * checking the same token for a burst of requests costs one verification. Logouts are still
+ * honoured immediately, since the revocation filter is consulted on every lookup; revoke-all and
+ * account deactivation take effect once the cached result expires.
+ */
+@Component
+public class TokenIntrospector {
+
+    private final AccessTokenAuthenticator authenticator;
+    private final Cache<ByteBuffer, Result> results;
+    private final int parallelism;
+
+    public TokenIntrospector(
+            AccessTokenAuthenticator authenticator,
+            @Value("${security.introspection.cache-ttl:5s}") Duration cacheTtl,
+            @Value("${security.introspection.cache-max-size:100000}") long cacheMaxSize,
+            @Value("${security.introspection.parallelism:8}") int parallelism
+    ) {
+        this.authenticator = authenticator;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new ShortLived(cacheTtl))
+                .build();
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Introspect tokens in parallel.
+     *
+     * @param tokens access tokens
+     * @return the principal of each active token, or empty, in the order of {@code tokens}
+     */
+    public Mono<List<Optional<AuthenticatedUser>>> introspectAll(List<String> tokens) {
+        // Resolving a principal may load the user, so it runs off the event loop
+        return Flux.fromIterable(tokens)
+                .flatMapSequential(token -> Mono.fromCallable(() -> introspect(token))
+                        .subscribeOn(Schedulers.boundedElastic()), parallelism)
+                .collectList();
+    }
+
+    /**
+     * Introspect one token. May block.
+     *
+     * @param token an access token
+     * @return the principal if the token is active
+     */
+    public Optional<AuthenticatedUser> introspect(String token) {
+        Result result = results.get(JwtService.digest(token), key -> new Result(authenticator.authenticate(token)));
+        return result.principal()
+                .filter(principal -> !authenticator.isRevoked(principal.tokenId()));
+    }
+
+    private record Result(Optional<AuthenticatedUser> principal) {
+    }
+
+    /**
+     * Keeps results for the configured time, but active results no longer than their token lives.
+     */
+    private record ShortLived(Duration ttl) implements Expiry<ByteBuffer, Result> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Result result, long currentTime) {
+            long ttlNanos = ttl.toNanos();
+            return result.principal()
+                    .map(principal -> Math.min(ttlNanos,
+                            Math.max(0, Duration.between(Instant.now(), principal.tokenExpiresAt()).toNanos())))
+                    .orElse(ttlNanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Result result, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Result result, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
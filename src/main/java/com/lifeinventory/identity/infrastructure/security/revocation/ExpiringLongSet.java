@@ -0,0 +1,166 @@
+package com.lifeinventory.identity.infrastructure.security.revocation;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of 64-bit keys, each with an expiry time, stored in two primitive arrays with
+ * open addressing.
+ * <p>
+ * Lookups use optimistic reads and do not block; writers take an exclusive lock. Expired keys
+ * stop matching immediately and are physically removed by {@link #purgeExpired(long)}.
+ */
+final class ExpiringLongSet {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private final StampedLock lock = new StampedLock();
+    private long[] keys;
+    private long[] expiries;
+    private int size;
+
+    ExpiringLongSet(int expectedEntries) {
+        allocate(tableSizeFor(expectedEntries));
+    }
+
+    /**
+     * Add a key until the given time; re-adding keeps the later expiry.
+     */
+    void add(long key, long expiresAtMillis) {
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 2L > keys.length) {
+                rehash(keys.length * 2, Long.MIN_VALUE);
+            }
+            int slot = slotOf(keys, expiries, key);
+            if (expiries[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+            }
+            expiries[slot] = Math.max(expiries[slot], expiresAtMillis);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    boolean contains(long key, long nowMillis) {
+        long stamp = lock.tryOptimisticRead();
+        long expiry = expiryOf(key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                expiry = expiryOf(key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return expiry > nowMillis;
+    }
+
+    /**
+     * Remove expired keys and shrink the table if it became sparse.
+     *
+     * @return number of keys left
+     */
+    int purgeExpired(long nowMillis) {
+        long stamp = lock.writeLock();
+        try {
+            int live = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (expiries[i] > nowMillis) {
+                    live++;
+                }
+            }
+            rehash(Math.max(tableSizeFor(live), MIN_CAPACITY), nowMillis);
+            return size;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void forEachKey(LongConsumer action) {
+        long stamp = lock.readLock();
+        try {
+            for (int i = 0; i < keys.length; i++) {
+                if (expiries[i] != EMPTY) {
+                    action.accept(keys[i]);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long expiryOf(long key) {
+        long[] currentKeys = keys;
+        long[] currentExpiries = expiries;
+        // A racing writer may have swapped only one of the arrays; the caller validates the stamp
+        int length = Math.min(currentKeys.length, currentExpiries.length);
+        int mask = length - 1;
+        int slot = (int) mix(key) & mask;
+        for (int probes = 0; probes < length; probes++) {
+            long expiry = currentExpiries[slot];
+            if (expiry == EMPTY) {
+                return EMPTY;
+            }
+            if (currentKeys[slot] == key) {
+                return expiry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    private void rehash(int capacity, long dropExpiredAtOrBefore) {
+        long[] oldKeys = keys;
+        long[] oldExpiries = expiries;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldExpiries[i] != EMPTY && oldExpiries[i] > dropExpiredAtOrBefore) {
+                int slot = slotOf(keys, expiries, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                expiries[slot] = oldExpiries[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        expiries = new long[capacity];
+        size = 0;
+    }
+
+    private static int slotOf(long[] keys, long[] expiries, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (expiries[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int tableSizeFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
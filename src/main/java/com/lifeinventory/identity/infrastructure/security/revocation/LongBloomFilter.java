@@ -0,0 +1,65 @@
+package com.lifeinventory.identity.infrastructure.security.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over 64-bit keys.
+ * <p>
+ * Adding is thread-safe and visible to concurrent readers. Entries cannot be removed; the
+ * owner rebuilds the filter from the live keys instead.
+ */
+final class LongBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitMask;
+    private final int hashFunctions;
+
+    /**
+     * @param expectedEntries       number of keys the filter is sized for
+     * @param falsePositiveRate     target false positive rate at {@code expectedEntries}
+     */
+    LongBloomFilter(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(1, expectedEntries);
+        double optimalBits = -entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long bits = Math.max(64, Long.highestOneBit((long) Math.ceil(optimalBits) - 1) << 1);
+        this.words = new AtomicLongArray(Math.toIntExact(bits >>> 6));
+        this.bitMask = bits - 1;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bits / entries * Math.log(2)));
+    }
+
+    void add(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitSize() {
+        return bitMask + 1;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,105 @@
+package com.lifeinventory.identity.infrastructure.security.revocation;
+
+import com.lifeinventory.identity.event.IdentityEvent;
+import com.lifeinventory.identity.event.IdentityEventPublisher;
+import com.lifeinventory.identity.event.UserLoggedOut;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * In-memory registry of revoked access token ids ({@code jti}).
+ * <p>
+ * A Bloom filter answers the common "not revoked" case without touching the set; only possible
+ * hits are confirmed against an {@link ExpiringLongSet} of 64-bit token id hashes. Entries live
+ * until the token would have expired anyway, so memory is bounded by the number of single-device
+ * logouts within one access token lifetime.
+ * <p>
+ * Fed by local logout events and, through {@code RevocationEventListener}, by the events of every
+ * other node.
+ */
+@Slf4j
+@Component
+public class RevokedTokenRegistry implements IdentityEventPublisher {
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final ExpiringLongSet revoked;
+    private volatile LongBloomFilter filter;
+
+    public RevokedTokenRegistry(
+            @Value("${security.revocation.expected-entries:100000}") int expectedEntries,
+            @Value("${security.revocation.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revoked = new ExpiringLongSet(expectedEntries);
+        this.filter = new LongBloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Reject the token with the given id until it expires.
+     */
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        long key = hash(tokenId);
+        revoked.add(key, expiresAt.toEpochMilli());
+        filter.add(key);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        long key = hash(tokenId);
+        return filter.mightContain(key) && revoked.contains(key, System.currentTimeMillis());
+    }
+
+    /**
+     * Drop expired entries and rebuild the Bloom filter from the remaining ones, which also
+     * resets its false positive rate.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval:60s}")
+    public synchronized void purgeExpired() {
+        int live = revoked.purgeExpired(System.currentTimeMillis());
+        var rebuilt = new LongBloomFilter(Math.max(expectedEntries, live * 2), falsePositiveRate);
+        revoked.forEachKey(rebuilt::add);
+        filter = rebuilt;
+        log.debug("Revoked token registry holds {} entries", live);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Override
+    public void publish(IdentityEvent event) {
+        if (event instanceof UserLoggedOut loggedOut && !loggedOut.allDevices()) {
+            revoke(loggedOut.tokenId(), loggedOut.tokenExpiresAt());
+        }
+    }
+
+    @Override
+    public void publishAll(List<IdentityEvent> events) {
+        events.forEach(this::publish);
+    }
+
+    /**
+     * 64-bit FNV-1a of the token id. Distinct ids sharing a hash would both be rejected, which
+     * at 64 bits is not a practical concern.
+     */
+    static long hash(String tokenId) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < tokenId.length(); i++) {
+            hash ^= tokenId.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+}
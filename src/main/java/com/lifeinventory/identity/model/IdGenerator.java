@@ -0,0 +1,71 @@
+package com.lifeinventory.identity.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of identifiers for users, tokens, token families and events.
+ * <p>
+ * The default generates time-ordered UUIDv7 values, so rows and events created close together get
+ * neighbouring ids. Install a different generator with {@link #use(IdGenerator)} at startup, e.g.
+ * a deterministic one in tests.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Generate a new identifier.
+     */
+    UUID nextId();
+
+    /**
+     * Generate an identifier with the installed generator.
+     */
+    static UUID next() {
+        return Holder.generator.nextId();
+    }
+
+    /**
+     * Install the generator used by {@link #next()}.
+     */
+    static void use(IdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("generator must not be null");
+        }
+        Holder.generator = generator;
+    }
+
+    /**
+     * RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by 74 random bits.
+     * <p>
+     * The random bits come from {@link ThreadLocalRandom}, so generation takes no lock and does not
+     * contend on the shared {@link java.security.SecureRandom} behind {@link UUID#randomUUID()}.
+     * The ids are unique but not unpredictable; nothing may rely on an id being secret.
+     */
+    static IdGenerator uuidV7() {
+        return () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long msb = System.currentTimeMillis() << 16 | 0x7000L | random.nextInt(1 << 12);
+            long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+            return new UUID(msb, lsb);
+        };
+    }
+
+    /**
+     * Random version 4 UUIDs from {@link UUID#randomUUID()}.
+     */
+    static IdGenerator random() {
+        return UUID::randomUUID;
+    }
+}
+
+/**
+ * The installed generator; kept out of the interface so it is not part of the public API.
+ */
+final class Holder {
+
+    static volatile IdGenerator generator = IdGenerator.uuidV7();
+
+    private Holder() {
+    }
+}
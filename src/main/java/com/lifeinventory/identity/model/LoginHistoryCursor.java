@@ -0,0 +1,43 @@
+package com.lifeinventory.identity.model;
+
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a newest-first login history.
+ * Entries strictly older than the cursor follow it.
+ */
+public record LoginHistoryCursor(
+    @NonNull Instant occurredAt,
+    @NonNull UUID eventId
+) {
+    /**
+     * Encode as an opaque, URL-safe string.
+     */
+    public String encode() {
+        String raw = occurredAt.toEpochMilli() + ":" + eventId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static LoginHistoryCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new LoginHistoryCursor(
+                Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid login history cursor");
+        }
+    }
+}
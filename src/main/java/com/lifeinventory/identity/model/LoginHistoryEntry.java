@@ -0,0 +1,25 @@
+package com.lifeinventory.identity.model;
+
+import lombok.NonNull;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A single successful authentication in a user's login history.
+ * Immutable value object.
+ */
+public record LoginHistoryEntry(
+    @NonNull UUID eventId,
+    @NonNull UUID userId,
+    @NonNull Instant occurredAt,
+    String ipAddress,
+    String userAgent
+) {
+    /**
+     * Cursor pointing just past this entry, for fetching older entries.
+     */
+    public LoginHistoryCursor cursor() {
+        return new LoginHistoryCursor(occurredAt, eventId);
+    }
+}
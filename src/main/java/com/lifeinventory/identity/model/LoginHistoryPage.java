@@ -0,0 +1,33 @@
+package com.lifeinventory.identity.model;
+
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of login history, newest first.
+ */
+public record LoginHistoryPage(
+    @NonNull List<LoginHistoryEntry> entries,
+    LoginHistoryCursor nextCursor
+) {
+    public LoginHistoryPage {
+        entries = List.copyOf(entries);
+    }
+
+    /**
+     * Build a page from entries fetched with the given limit.
+     * A full page may have more entries behind it, so it carries a cursor.
+     */
+    public static LoginHistoryPage of(List<LoginHistoryEntry> entries, int limit) {
+        LoginHistoryCursor next = entries.size() >= limit && !entries.isEmpty()
+            ? entries.get(entries.size() - 1).cursor()
+            : null;
+        return new LoginHistoryPage(entries, next);
+    }
+
+    public Optional<LoginHistoryCursor> next() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
@@ -0,0 +1,58 @@
+package com.lifeinventory.identity.model;
+
+import lombok.NonNull;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The chain of refresh tokens descending from one login.
+ * <p>
+ * Only {@code currentTokenId} may be exchanged for new tokens. Presenting any earlier token of the
+ * family means it was replayed, possibly by someone who stole it, and the whole family is revoked.
+ */
+public record RefreshTokenFamily(
+    @NonNull UUID userId,
+    @NonNull UUID familyId,
+    @NonNull UUID currentTokenId,
+    @NonNull Instant rotatedAt,
+    @NonNull Instant expiresAt
+) {
+    /**
+     * Start a new family with the first refresh token of a login.
+     */
+    public static RefreshTokenFamily start(Token refreshToken) {
+        if (!refreshToken.hasFamily()) {
+            throw new IllegalArgumentException("refreshToken must have a familyId");
+        }
+        return new RefreshTokenFamily(
+            refreshToken.userId(),
+            refreshToken.familyId(),
+            refreshToken.id(),
+            refreshToken.createdAt(),
+            refreshToken.expiresAt()
+        );
+    }
+
+    /**
+     * The families to evict so that a new one fits within {@code maxFamilies}: the least
+     * recently refreshed first.
+     *
+     * @param existing the user's current families
+     * @param maxFamilies the most families the user may have, including the new one
+     * @return the families to evict, possibly none
+     */
+    public static List<RefreshTokenFamily> evictionsFor(Collection<RefreshTokenFamily> existing, int maxFamilies) {
+        int excess = existing.size() + 1 - maxFamilies;
+        if (excess <= 0) {
+            return List.of();
+        }
+        return existing.stream()
+            .sorted(Comparator.comparing(RefreshTokenFamily::rotatedAt))
+            .limit(excess)
+            .toList();
+    }
+}
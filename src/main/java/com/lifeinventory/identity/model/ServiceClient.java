@@ -0,0 +1,60 @@
+package com.lifeinventory.identity.model;
+
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A registered service that authenticates with the client credentials grant.
+ * <p>
+ * Only the SHA-256 digest of the client secret is known. Tokens issued to the client use
+ * {@code id}, derived from {@code clientId}, as their subject, so they carry the same subject on
+ * every node without a stored row.
+ */
+public record ServiceClient(
+    @NonNull UUID id,
+    @NonNull String clientId,
+    @NonNull String secretDigest,
+    @NonNull Set<Role> roles
+) {
+    public ServiceClient {
+        if (clientId.isBlank()) {
+            throw new IllegalArgumentException("clientId must not be blank");
+        }
+        if (secretDigest.isBlank()) {
+            throw new IllegalArgumentException("secretDigest must not be blank");
+        }
+        if (roles.isEmpty()) {
+            throw new IllegalArgumentException("roles must not be empty");
+        }
+        roles = Set.copyOf(roles);
+    }
+
+    /**
+     * Register a client under its stable subject id.
+     */
+    public static ServiceClient of(String clientId, String secretDigest, Set<Role> roles) {
+        return new ServiceClient(subjectOf(clientId), clientId, secretDigest, roles);
+    }
+
+    /**
+     * Subject id of a client's tokens.
+     */
+    public static UUID subjectOf(String clientId) {
+        return UUID.nameUUIDFromBytes(("service-client:" + clientId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Permissions granted by the client's roles.
+     */
+    public Set<Permission> permissions() {
+        Set<Permission> permissions = new HashSet<>();
+        for (Role role : roles) {
+            permissions.addAll(User.defaultPermissionsForRole(role));
+        }
+        return Set.copyOf(permissions);
+    }
+}
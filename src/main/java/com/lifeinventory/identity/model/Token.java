@@ -9,6 +9,9 @@ import java.util.UUID;
 /**
  * Represents an authentication token (access, refresh, password reset, etc.).
  * Immutable value object.
+ * <p>
+ * Refresh tokens belong to a {@link RefreshTokenFamily}; {@code familyId} is null for other
+ * token types and for refresh tokens issued before families were tracked.
  */
 public record Token(
     @NonNull UUID id,
@@ -17,7 +20,9 @@ public record Token(
     @NonNull String tokenValue,
     @NonNull Instant expiresAt,
     @NonNull Instant createdAt,
-    boolean revoked
+    boolean revoked,
+    long generation,
+    UUID familyId
 ) {
     public Token {
         if (tokenValue.isBlank()) {
@@ -28,19 +33,43 @@ public record Token(
         }
     }
 
+    /**
+     * Create a token that does not belong to a refresh token family.
+     */
+    public Token(UUID id, UUID userId, TokenType type, String tokenValue,
+                 Instant expiresAt, Instant createdAt, boolean revoked, long generation) {
+        this(id, userId, type, tokenValue, expiresAt, createdAt, revoked, generation, null);
+    }
+
+    /**
+     * Create a token issued in the user's initial token generation.
+     */
+    public Token(UUID id, UUID userId, TokenType type, String tokenValue,
+                 Instant expiresAt, Instant createdAt, boolean revoked) {
+        this(id, userId, type, tokenValue, expiresAt, createdAt, revoked, 0L);
+    }
+
     /**
      * Create a new access token.
      */
     public static Token createAccessToken(UUID userId, String tokenValue, Duration validity) {
+        return createAccessToken(userId, tokenValue, validity, 0L);
+    }
+
+    /**
+     * Create a new access token issued in the given token generation of the user.
+     */
+    public static Token createAccessToken(UUID userId, String tokenValue, Duration validity, long generation) {
         var now = Instant.now();
         return new Token(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             userId,
             TokenType.ACCESS,
             tokenValue,
             now.plus(validity),
             now,
-            false
+            false,
+            generation
         );
     }
 
@@ -48,15 +77,23 @@ public record Token(
      * Create a new refresh token.
      */
     public static Token createRefreshToken(UUID userId, String tokenValue, Duration validity) {
+        return createRefreshToken(userId, tokenValue, validity, 0L);
+    }
+
+    /**
+     * Create a new refresh token issued in the given token generation of the user.
+     */
+    public static Token createRefreshToken(UUID userId, String tokenValue, Duration validity, long generation) {
         var now = Instant.now();
         return new Token(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             userId,
             TokenType.REFRESH,
             tokenValue,
             now.plus(validity),
             now,
-            false
+            false,
+            generation
         );
     }
 
@@ -66,7 +103,7 @@ public record Token(
     public static Token createPasswordResetToken(UUID userId, String tokenValue, Duration validity) {
         var now = Instant.now();
         return new Token(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             userId,
             TokenType.PASSWORD_RESET,
             tokenValue,
@@ -82,7 +119,7 @@ public record Token(
     public static Token createEmailVerificationToken(UUID userId, String tokenValue, Duration validity) {
         var now = Instant.now();
         return new Token(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             userId,
             TokenType.EMAIL_VERIFICATION,
             tokenValue,
@@ -96,7 +133,25 @@ public record Token(
         if (revoked) {
             return this;
         }
-        return new Token(id, userId, type, tokenValue, expiresAt, createdAt, true);
+        return new Token(id, userId, type, tokenValue, expiresAt, createdAt, true, generation, familyId);
+    }
+
+    /**
+     * Copy of this token as a member of the given refresh token family.
+     */
+    public Token withFamilyId(UUID familyId) {
+        return new Token(id, userId, type, tokenValue, expiresAt, createdAt, revoked, generation, familyId);
+    }
+
+    /**
+     * Copy of this token with a different value, e.g. the stored digest of the issued value.
+     */
+    public Token withTokenValue(String tokenValue) {
+        return new Token(id, userId, type, tokenValue, expiresAt, createdAt, revoked, generation, familyId);
+    }
+
+    public boolean hasFamily() {
+        return familyId != null;
     }
 
     public boolean isExpired() {
@@ -22,7 +22,8 @@ public record User(
     boolean active,
     Instant lastLoginAt,
     @NonNull Instant createdAt,
-    @NonNull Instant updatedAt
+    @NonNull Instant updatedAt,
+    long tokenGeneration
 ) {
     public User {
         if (email.isBlank()) {
@@ -39,13 +40,30 @@ public record User(
         permissions = Set.copyOf(permissions);
     }
 
+    /**
+     * Create a user that has never had its tokens revoked in bulk.
+     */
+    public User(
+        UUID id, String email, String passwordHash, AuthProvider authProvider, String externalId,
+        UserProfile profile, Set<Role> roles, Set<Permission> permissions,
+        boolean emailVerified, boolean active, Instant lastLoginAt,
+        Instant createdAt, Instant updatedAt
+    ) {
+        this(
+            id, email, passwordHash, authProvider, externalId,
+            profile, roles, permissions,
+            emailVerified, active, lastLoginAt,
+            createdAt, updatedAt, 0L
+        );
+    }
+
     /**
      * Create a new local user with email/password.
      */
     public static User createLocal(String email, String passwordHash) {
         var now = Instant.now();
         return new User(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             email.toLowerCase().trim(),
             passwordHash,
             AuthProvider.LOCAL,
@@ -57,7 +75,8 @@ public record User(
             true,
             null,
             now,
-            now
+            now,
+            0L
         );
     }
 
@@ -67,7 +86,7 @@ public record User(
     public static User createExternal(String email, AuthProvider provider, String externalId, UserProfile profile) {
         var now = Instant.now();
         return new User(
-            UUID.randomUUID(),
+            IdGenerator.next(),
             email.toLowerCase().trim(),
             null,
             provider,
@@ -79,7 +98,8 @@ public record User(
             true,
             now,
             now,
-            now
+            now,
+            0L
         );
     }
 
@@ -93,7 +113,7 @@ public record User(
             id, email, passwordHash, authProvider, externalId,
             profile, roles, permissions,
             true, active, lastLoginAt,
-            createdAt, Instant.now()
+            createdAt, Instant.now(), tokenGeneration
         );
     }
 
@@ -102,7 +122,7 @@ public record User(
             id, email, passwordHash, authProvider, externalId,
             profile, roles, permissions,
             emailVerified, active, Instant.now(),
-            createdAt, Instant.now()
+            createdAt, Instant.now(), tokenGeneration
         );
     }
 
@@ -114,7 +134,7 @@ public record User(
             id, email, passwordHash, authProvider, externalId,
             profile, roles, permissions,
             emailVerified, false, lastLoginAt,
-            createdAt, Instant.now()
+            createdAt, Instant.now(), tokenGeneration
         );
     }
 
@@ -126,7 +146,20 @@ public record User(
             id, email, passwordHash, authProvider, externalId,
             profile, roles, permissions,
             emailVerified, true, lastLoginAt,
-            createdAt, Instant.now()
+            createdAt, Instant.now(), tokenGeneration
+        );
+    }
+
+    /**
+     * Revoke every token issued so far. Tokens carry the generation they were issued in,
+     * so this is a single increment regardless of how many sessions the user has.
+     */
+    public User revokeAllTokens() {
+        return new User(
+            id, email, passwordHash, authProvider, externalId,
+            profile, roles, permissions,
+            emailVerified, active, lastLoginAt,
+            createdAt, Instant.now(), tokenGeneration + 1
         );
     }
 
@@ -140,7 +173,7 @@ public record User(
             id, email, newPasswordHash, authProvider, externalId,
             profile, roles, permissions,
             emailVerified, active, lastLoginAt,
-            createdAt, Instant.now()
+            createdAt, Instant.now(), tokenGeneration
         );
     }
 
@@ -149,7 +182,7 @@ public record User(
             id, email, passwordHash, authProvider, externalId,
             newProfile, roles, permissions,
             emailVerified, active, lastLoginAt,
-            createdAt, Instant.now()
+            createdAt, Instant.now(), tokenGeneration
         );
     }
 
@@ -162,7 +195,7 @@ public record User(
             id, email, passwordHash, authProvider, externalId,
             profile, newRoles, newPermissions,
             emailVerified, active, lastLoginAt,
-            createdAt, Instant.now()
+            createdAt, Instant.now(), tokenGeneration
         );
     }
 
@@ -194,7 +227,7 @@ public record User(
             id, email, passwordHash, authProvider, externalId,
             profile, roles, newPermissions,
             emailVerified, active, lastLoginAt,
-            createdAt, Instant.now()
+            createdAt, Instant.now(), tokenGeneration
         );
     }
 
@@ -238,11 +271,18 @@ public record User(
         return active && (authProvider != AuthProvider.LOCAL || emailVerified);
     }
 
+    /**
+     * Whether a token issued in the given generation is still honoured.
+     */
+    public boolean isTokenGenerationCurrent(long generation) {
+        return generation >= tokenGeneration;
+    }
+
     public boolean isLocalAuth() {
         return authProvider == AuthProvider.LOCAL;
     }
 
-    private static Set<Permission> defaultPermissionsForRole(Role role) {
+    static Set<Permission> defaultPermissionsForRole(Role role) {
         return switch (role) {
             case USER -> Set.of(
                 Permission.ITEM_CREATE,
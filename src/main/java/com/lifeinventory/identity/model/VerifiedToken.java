@@ -0,0 +1,34 @@
+package com.lifeinventory.identity.model;
+
+import lombok.NonNull;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A self-contained token whose signature has been checked.
+ * <p>
+ * {@code stateFingerprint} binds the token to the user state it was issued for; tokens issued
+ * before state binding existed have none and must be checked against the token store.
+ */
+public record VerifiedToken(
+    @NonNull UUID userId,
+    @NonNull TokenType type,
+    String stateFingerprint,
+    @NonNull Instant expiresAt
+) {
+    public boolean isExpired() {
+        return Instant.now().isAfter(expiresAt);
+    }
+
+    public boolean isStateBound() {
+        return stateFingerprint != null;
+    }
+
+    /**
+     * Whether the token was issued for the given current state.
+     */
+    public boolean matchesState(String currentFingerprint) {
+        return stateFingerprint != null && stateFingerprint.equals(currentFingerprint);
+    }
+}
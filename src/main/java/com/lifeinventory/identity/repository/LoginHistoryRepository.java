@@ -0,0 +1,31 @@
+package com.lifeinventory.identity.repository;
+
+import com.lifeinventory.identity.model.LoginHistoryCursor;
+import com.lifeinventory.identity.model.LoginHistoryEntry;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for the authentication audit log.
+ * Output port in hexagonal architecture.
+ */
+public interface LoginHistoryRepository {
+
+    /**
+     * Save a batch of login history entries.
+     *
+     * @param entries the entries to save, possibly for many users
+     */
+    void saveAll(List<LoginHistoryEntry> entries);
+
+    /**
+     * Find a user's login history, newest first.
+     *
+     * @param userId the user ID
+     * @param before only return entries older than this cursor; null to start from the newest
+     * @param limit maximum number of entries
+     * @return list of entries, newest first
+     */
+    List<LoginHistoryEntry> findByUserId(UUID userId, LoginHistoryCursor before, int limit);
+}
@@ -0,0 +1,56 @@
+package com.lifeinventory.identity.repository;
+
+import com.lifeinventory.identity.model.RefreshTokenFamily;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for refresh token families.
+ * Output port in hexagonal architecture.
+ * <p>
+ * All families of a user are expected to live together, so every operation touches a single
+ * partition. A family is removed when it expires or is revoked.
+ */
+public interface RefreshTokenFamilyRepository {
+
+    /**
+     * Save a new family, evicting the user's least recently refreshed families so that at most
+     * {@code maxFamilies} remain. The insert and the evictions are applied together. A family
+     * refreshed while it is being evicted is kept, which may briefly leave the user above the cap.
+     *
+     * @param family the family to save
+     * @param maxFamilies the most families the user may have, including the new one
+     */
+    void create(RefreshTokenFamily family, int maxFamilies);
+
+    /**
+     * Find a family.
+     *
+     * @param userId the user ID
+     * @param familyId the family ID
+     * @return the family if it exists and has not been revoked
+     */
+    Optional<RefreshTokenFamily> findById(UUID userId, UUID familyId);
+
+    /**
+     * Atomically replace the current token of a family, if the presented token is the current one.
+     *
+     * @param userId the user ID
+     * @param familyId the family ID
+     * @param presentedTokenId the token being exchanged
+     * @param nextTokenId the token replacing it
+     * @param expiresAt the expiry of the next token
+     * @return false if the family is gone or the presented token is not its current token
+     */
+    boolean rotate(UUID userId, UUID familyId, UUID presentedTokenId, UUID nextTokenId, Instant expiresAt);
+
+    /**
+     * Revoke a family, invalidating every token in it.
+     *
+     * @param userId the user ID
+     * @param familyId the family ID
+     */
+    void revoke(UUID userId, UUID familyId);
+}
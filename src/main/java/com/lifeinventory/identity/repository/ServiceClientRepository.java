@@ -0,0 +1,20 @@
+package com.lifeinventory.identity.repository;
+
+import com.lifeinventory.identity.model.ServiceClient;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for registered service clients.
+ * Output port in hexagonal architecture.
+ */
+public interface ServiceClientRepository {
+
+    /**
+     * Find a client by its client id.
+     *
+     * @param clientId the client id
+     * @return the client, or empty if no such client is registered
+     */
+    Optional<ServiceClient> findByClientId(String clientId);
+}
@@ -3,6 +3,7 @@ package com.lifeinventory.identity.repository;
 import com.lifeinventory.identity.model.AuthProvider;
 import com.lifeinventory.identity.model.User;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,7 +15,19 @@ import java.util.UUID;
 public interface UserRepository {
 
     /**
-     * Save a user (create or update).
+     * Create a new user with all of its fields.
+     *
+     * @param user the user to create
+     * @return the created user
+     */
+    User create(User user);
+
+    /**
+     * Save an existing user's email, profile, roles, permissions and status.
+     * <p>
+     * The password hash, token generation and last login are not written: a save based on a
+     * user read earlier must not undo a concurrent password change or revocation. They have
+     * their own targeted updates below.
      *
      * @param user the user to save
      * @return the saved user
@@ -64,6 +77,46 @@ public interface UserRepository {
      */
     List<User> findAllActive(int page, int size);
 
+    /**
+     * Replace a user's password hash, only if it is still the expected one. Leaves every other
+     * field alone, so it cannot undo a concurrent update of the user.
+     *
+     * @param userId the user ID
+     * @param expectedHash the hash the user is expected to have
+     * @param newHash the replacement hash
+     * @return false if the user is gone or its hash has changed since
+     */
+    boolean updatePasswordHash(UUID userId, String expectedHash, String newHash);
+
+    /**
+     * Replace a user's password hash and advance its token generation, only if neither has
+     * changed since the user was read.
+     *
+     * @param userId the user ID
+     * @param expectedHash the hash the user is expected to have
+     * @param expectedGeneration the token generation the user is expected to have
+     * @param newHash the replacement hash
+     * @return false if the user is gone or its hash or generation has changed since
+     */
+    boolean changePassword(UUID userId, String expectedHash, long expectedGeneration, String newHash);
+
+    /**
+     * Advance a user's token generation by one, only if it is still the expected one.
+     *
+     * @param userId the user ID
+     * @param expectedGeneration the token generation the user is expected to have
+     * @return false if the user is gone or its generation has changed since
+     */
+    boolean advanceTokenGeneration(UUID userId, long expectedGeneration);
+
+    /**
+     * Record a login. Writes nothing but the last login time.
+     *
+     * @param userId the user ID
+     * @param loginAt when the user logged in
+     */
+    void recordLogin(UUID userId, Instant loginAt);
+
     /**
      * Delete user by ID.
      *
@@ -0,0 +1,18 @@
+package com.lifeinventory.identity.service;
+
+/**
+ * Interface for limiting how often a client and an account may attempt an operation.
+ * Output port - implementation provided by infrastructure layer.
+ */
+public interface AttemptThrottle {
+
+    /**
+     * Record an attempt, or refuse it when the client address or the account is over its limit.
+     * Must be cheap: it runs before any lookup or password hashing.
+     *
+     * @param ipAddress       the client address, or null if unknown
+     * @param normalizedEmail the account the attempt is for
+     * @throws com.lifeinventory.identity.exception.TooManyAttemptsException if over the limit
+     */
+    void acquire(String ipAddress, String normalizedEmail);
+}
@@ -12,6 +12,8 @@ import lombok.NonNull;
 import lombok.experimental.FieldDefaults;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Domain service implementing authentication-related use cases.
@@ -25,11 +27,17 @@ public class AuthenticationService implements
     RequestPasswordResetUseCase,
     ResetPasswordUseCase {
 
+    private static final int MAX_PASSWORD_UPDATE_ATTEMPTS = 3;
+
     @NonNull UserRepository userRepository;
     @NonNull TokenRepository tokenRepository;
     @NonNull PasswordHasher passwordHasher;
     @NonNull TokenGenerator tokenGenerator;
+    @NonNull TokenVerifier tokenVerifier;
+    @NonNull SessionTokenIssuer tokenIssuer;
     @NonNull IdentityEventPublisher eventPublisher;
+    @NonNull Executor rehashExecutor;
+    @NonNull PasswordRehashMonitor rehashMonitor;
 
     @Override
     public AuthenticationResult execute(AuthenticateCommand command) {
@@ -54,20 +62,16 @@ public class AuthenticationService implements
             }
         }
 
-        // Generate tokens
-        Token accessToken = tokenGenerator.generateAccessToken(user);
-        Token refreshToken = tokenGenerator.generateRefreshToken(user);
-
-        tokenRepository.save(accessToken);
-        tokenRepository.save(refreshToken);
-
-        // Update last login
+        // Update last login; only that column, so it cannot undo a concurrent password change
         User updatedUser = user.recordLogin();
-        userRepository.save(updatedUser);
+        userRepository.recordLogin(updatedUser.id(), updatedUser.lastLoginAt());
+
+        // Generate tokens
+        AuthenticationResult result = tokenIssuer.issue(updatedUser);
 
         eventPublisher.publish(UserAuthenticated.of(updatedUser, command.ipAddress(), command.userAgent()));
 
-        return new AuthenticationResult(updatedUser, accessToken, refreshToken);
+        return result;
     }
 
     private User authenticateLocal(String email, String password) {
@@ -85,12 +89,38 @@ public class AuthenticationService implements
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
+        if (passwordHasher.needsRehash(user.passwordHash())) {
+            upgradePasswordHash(user, password);
+        }
+
         return user;
     }
 
+    /**
+     * Replace an outdated hash in the background while the plain password is at hand. Best
+     * effort: if it is skipped or fails, it is reported and the next login tries again. The
+     * conditional update never overwrites a password changed in the meantime.
+     */
+    private void upgradePasswordHash(User user, String password) {
+        try {
+            rehashExecutor.execute(() -> {
+                try {
+                    String newHash = passwordHasher.hash(password);
+                    if (!userRepository.updatePasswordHash(user.id(), user.passwordHash(), newHash)) {
+                        rehashMonitor.upgradeSkipped(user.id(), PasswordRehashMonitor.Outcome.SUPERSEDED, null);
+                    }
+                } catch (RuntimeException e) {
+                    rehashMonitor.upgradeSkipped(user.id(), PasswordRehashMonitor.Outcome.FAILED, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rehashMonitor.upgradeSkipped(user.id(), PasswordRehashMonitor.Outcome.REJECTED, e);
+        }
+    }
+
     @Override
     public AuthenticationResult execute(RefreshCommand command) {
-        Token refreshToken = tokenRepository.findByTokenValueAndType(command.refreshToken(), TokenType.REFRESH)
+        Token refreshToken = tokenIssuer.findRefreshToken(command.refreshToken())
             .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
 
         if (refreshToken.isExpired()) {
@@ -108,32 +138,42 @@ public class AuthenticationService implements
             throw new UserNotActiveException(user.id());
         }
 
-        // Revoke the old refresh token
-        tokenRepository.save(refreshToken.revoke());
-
-        // Generate new tokens
-        Token newAccessToken = tokenGenerator.generateAccessToken(user);
-        Token newRefreshToken = tokenGenerator.generateRefreshToken(user);
+        if (!user.isTokenGenerationCurrent(refreshToken.generation())) {
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
 
-        tokenRepository.save(newAccessToken);
-        tokenRepository.save(newRefreshToken);
+        AuthenticationResult result;
+        if (refreshToken.hasFamily()) {
+            // One conditional write both rotates the family and detects reuse of an older token
+            result = tokenIssuer.rotate(user, refreshToken)
+                .orElseThrow(() -> new InvalidTokenException("Refresh token has been revoked"));
+        } else {
+            // Token issued before families were tracked: revoke it and start a family
+            tokenRepository.save(refreshToken.revoke());
+            result = tokenIssuer.issue(user);
+        }
 
         eventPublisher.publish(TokenRefreshed.of(user));
 
-        return new AuthenticationResult(user, newAccessToken, newRefreshToken);
+        return result;
     }
 
     @Override
     public void execute(LogoutCommand command) {
         if (command.logoutAllDevices()) {
-            // Revoke all tokens for the user
-            tokenRepository.revokeAllByUserId(command.userId());
-            eventPublisher.publish(UserLoggedOut.allDevices(command.userId()));
+            // Advance the token generation; every token issued before it is no longer honoured.
+            // If the conditional update loses, a concurrent revocation has advanced it already.
+            userRepository.findById(command.userId())
+                .ifPresent(user -> {
+                    userRepository.advanceTokenGeneration(user.id(), user.tokenGeneration());
+                    eventPublisher.publish(UserLoggedOut.allDevices(user.revokeAllTokens()));
+                });
         } else if (command.refreshToken() != null) {
             // Revoke only the specific refresh token
-            tokenRepository.findByTokenValueAndType(command.refreshToken(), TokenType.REFRESH)
-                .ifPresent(token -> tokenRepository.save(token.revoke()));
-            eventPublisher.publish(UserLoggedOut.singleDevice(command.userId()));
+            tokenIssuer.findRefreshToken(command.refreshToken())
+                .ifPresent(tokenIssuer::revoke);
+            eventPublisher.publish(UserLoggedOut.singleDevice(
+                command.userId(), command.accessTokenId(), command.accessTokenExpiresAt()));
         }
     }
 
@@ -144,21 +184,43 @@ public class AuthenticationService implements
         return userRepository.findByEmail(normalizedEmail)
             .filter(User::isLocalAuth)
             .map(user -> {
-                // Revoke any existing password reset tokens
-                tokenRepository.deleteAllByUserIdAndType(user.id(), TokenType.PASSWORD_RESET);
-
-                // Generate new token
+                // The token is self-contained and bound to the current token generation, so nothing is stored
                 Token resetToken = tokenGenerator.generatePasswordResetToken(user);
-                Token saved = tokenRepository.save(resetToken);
 
-                eventPublisher.publish(PasswordResetRequested.of(user, saved));
+                eventPublisher.publish(PasswordResetRequested.of(user, resetToken));
 
-                return saved;
+                return resetToken;
             });
     }
 
     @Override
     public User execute(ResetPasswordCommand command) {
+        VerifiedToken resetToken = tokenVerifier.verify(command.token(), TokenType.PASSWORD_RESET)
+            .orElseThrow(() -> new InvalidTokenException("Invalid password reset token"));
+
+        if (!resetToken.isStateBound()) {
+            return resetPasswordWithStoredToken(command);
+        }
+
+        if (resetToken.isExpired()) {
+            throw new TokenExpiredException("Password reset token has expired");
+        }
+
+        User user = userRepository.findById(resetToken.userId())
+            .orElseThrow(() -> new UserNotFoundException(resetToken.userId()));
+
+        if (!resetToken.matchesState(TokenFingerprints.of(user, TokenType.PASSWORD_RESET))) {
+            throw new InvalidTokenException("Password reset token has been revoked");
+        }
+
+        return resetPassword(user, command.newPassword());
+    }
+
+    /**
+     * Reset a password with a token issued before reset tokens were state-bound
+     * and therefore still has a row in the token store.
+     */
+    private User resetPasswordWithStoredToken(ResetPasswordCommand command) {
         Token resetToken = tokenRepository.findByTokenValueAndType(command.token(), TokenType.PASSWORD_RESET)
             .orElseThrow(() -> new InvalidTokenException("Invalid password reset token"));
 
@@ -173,16 +235,33 @@ public class AuthenticationService implements
         User user = userRepository.findById(resetToken.userId())
             .orElseThrow(() -> new UserNotFoundException(resetToken.userId()));
 
-        // Hash new password and update user
-        String newPasswordHash = passwordHasher.hash(command.newPassword());
-        User updatedUser = user.withPasswordHash(newPasswordHash);
-        User saved = userRepository.save(updatedUser);
+        User saved = resetPassword(user, command.newPassword());
 
         // Revoke the reset token
         tokenRepository.save(resetToken.revoke());
 
-        // Revoke all refresh tokens to invalidate existing sessions
-        tokenRepository.revokeAllRefreshTokensByUserId(user.id());
+        return saved;
+    }
+
+    /**
+     * Hash the new password and advance the token generation to invalidate existing sessions,
+     * in one conditional write. A concurrent hash upgrade is retried; a concurrent password change
+     * or revocation, which advances the generation, revokes the reset.
+     */
+    private User resetPassword(User user, String newPassword) {
+        String newPasswordHash = passwordHasher.hash(newPassword);
+        User current = user;
+        int attempts = 0;
+        while (!userRepository.changePassword(
+                current.id(), current.passwordHash(), user.tokenGeneration(), newPasswordHash)) {
+            if (++attempts == MAX_PASSWORD_UPDATE_ATTEMPTS) {
+                throw new InvalidTokenException("Password reset token has been revoked");
+            }
+            current = userRepository.findById(user.id())
+                .filter(reloaded -> reloaded.tokenGeneration() == user.tokenGeneration())
+                .orElseThrow(() -> new InvalidTokenException("Password reset token has been revoked"));
+        }
+        User saved = current.withPasswordHash(newPasswordHash).revokeAllTokens();
 
         eventPublisher.publish(PasswordChanged.of(saved));
 
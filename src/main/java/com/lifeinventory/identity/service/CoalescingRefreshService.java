@@ -0,0 +1,109 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.model.AuthenticationResult;
+import com.lifeinventory.identity.usecase.RefreshTokenUseCase;
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refresh use case that coalesces duplicate requests for the same refresh token.
+ * <p>
+ * Concurrent requests presenting the same token share a single rotation. Once it completes,
+ * retries of the rotated token within the grace period get the same token pair back instead of
+ * failing or minting another pair. Failures are shared with waiting requests but not remembered.
+ */
+public class CoalescingRefreshService implements RefreshTokenUseCase {
+
+    private final RefreshTokenUseCase delegate;
+    private final long gracePeriodNanos;
+    private final int maxRecentResults;
+    private final Map<String, CompletableFuture<AuthenticationResult>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, RecentResult> recentResults = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate         the use case performing the rotation
+     * @param gracePeriod      how long a completed rotation is handed to retries of the old token
+     * @param maxRecentResults upper bound of remembered rotations; beyond it nothing new is remembered
+     */
+    public CoalescingRefreshService(@NonNull RefreshTokenUseCase delegate, @NonNull Duration gracePeriod,
+                                    int maxRecentResults) {
+        this.delegate = delegate;
+        this.gracePeriodNanos = gracePeriod.toNanos();
+        this.maxRecentResults = maxRecentResults;
+    }
+
+    @Override
+    public AuthenticationResult execute(RefreshCommand command) {
+        // Keyed by digest so raw refresh tokens are not kept in memory
+        String key = SessionTokenIssuer.hash(command.refreshToken());
+
+        AuthenticationResult recent = recentResult(key);
+        if (recent != null) {
+            return recent;
+        }
+
+        var flight = new CompletableFuture<AuthenticationResult>();
+        CompletableFuture<AuthenticationResult> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // Another flight may have completed between the first lookup and claiming the key
+            AuthenticationResult result = recentResult(key);
+            if (result == null) {
+                result = delegate.execute(command);
+                remember(key, result);
+            }
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private AuthenticationResult recentResult(String key) {
+        RecentResult recent = recentResults.get(key);
+        if (recent == null) {
+            return null;
+        }
+        if (System.nanoTime() - recent.completedAt() > gracePeriodNanos) {
+            recentResults.remove(key, recent);
+            return null;
+        }
+        return recent.result();
+    }
+
+    private void remember(String key, AuthenticationResult result) {
+        long now = System.nanoTime();
+        if (recentResults.size() >= maxRecentResults) {
+            recentResults.values().removeIf(recent -> now - recent.completedAt() > gracePeriodNanos);
+            if (recentResults.size() >= maxRecentResults) {
+                return;
+            }
+        }
+        recentResults.put(key, new RecentResult(result, now));
+    }
+
+    private static AuthenticationResult await(CompletableFuture<AuthenticationResult> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record RecentResult(AuthenticationResult result, long completedAt) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.exception.UnauthorizedAccessException;
+import com.lifeinventory.identity.exception.UserNotFoundException;
+import com.lifeinventory.identity.model.LoginHistoryPage;
+import com.lifeinventory.identity.model.Permission;
+import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.repository.LoginHistoryRepository;
+import com.lifeinventory.identity.repository.UserRepository;
+import com.lifeinventory.identity.usecase.GetLoginHistoryUseCase;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Domain service implementing login history queries.
+ */
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LoginHistoryService implements GetLoginHistoryUseCase {
+
+    @NonNull UserRepository userRepository;
+    @NonNull LoginHistoryRepository loginHistoryRepository;
+
+    @Override
+    public LoginHistoryPage execute(LoginHistoryQuery query) {
+        // Check authorization
+        if (!query.requesterId().equals(query.userId())) {
+            User requester = userRepository.findById(query.requesterId())
+                .orElseThrow(() -> new UserNotFoundException(query.requesterId()));
+
+            if (!requester.hasPermission(Permission.USER_READ_ANY)) {
+                throw UnauthorizedAccessException.forUser(query.requesterId(), query.userId());
+            }
+        }
+
+        var entries = loginHistoryRepository.findByUserId(query.userId(), query.cursor(), query.limit());
+        return LoginHistoryPage.of(entries, query.limit());
+    }
+}
@@ -22,4 +22,15 @@ public interface PasswordHasher {
      * @return true if the password matches the hash
      */
     boolean verify(String plainPassword, String hashedPassword);
+
+    /**
+     * Whether a stored hash was produced with another algorithm or other parameters than new
+     * hashes, and should be replaced the next time the plain password is known.
+     *
+     * @param hashedPassword the stored hash
+     * @return true if the hash is outdated
+     */
+    default boolean needsRehash(String hashedPassword) {
+        return false;
+    }
 }
@@ -0,0 +1,31 @@
+package com.lifeinventory.identity.service;
+
+import java.util.UUID;
+
+/**
+ * Interface for reporting background password hash upgrades that did not happen.
+ * Output port - implementation provided by infrastructure layer.
+ */
+public interface PasswordRehashMonitor {
+
+    /**
+     * Why an upgrade did not happen.
+     */
+    enum Outcome {
+        /** The stored hash changed before the upgrade was written, e.g. by a password change. */
+        SUPERSEDED,
+        /** Hashing or the store failed. */
+        FAILED,
+        /** The upgrade was not scheduled at all. */
+        REJECTED
+    }
+
+    /**
+     * Report an upgrade that did not happen. It is retried on the user's next login.
+     *
+     * @param userId  the user whose hash stays outdated
+     * @param outcome why
+     * @param cause   the error, or null for {@link Outcome#SUPERSEDED}
+     */
+    void upgradeSkipped(UUID userId, Outcome outcome, Throwable cause);
+}
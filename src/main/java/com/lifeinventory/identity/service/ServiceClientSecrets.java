@@ -0,0 +1,46 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.model.ServiceClient;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Digests of service client secrets.
+ * <p>
+ * Client secrets are generated, high-entropy values rather than passwords, so a plain SHA-256
+ * digest protects them at rest; a deliberately slow hash would only add latency to every grant.
+ */
+public final class ServiceClientSecrets {
+
+    private static final String UNKNOWN_CLIENT_DIGEST = digest("unknown-client");
+
+    private ServiceClientSecrets() {
+    }
+
+    /**
+     * Lowercase hex SHA-256 digest of a secret, as registered for a client.
+     */
+    public static String digest(String secret) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Whether the secret matches the client's registered digest, compared in constant time.
+     * A null client still costs one digest, so unknown client ids cannot be told apart by timing.
+     */
+    public static boolean matches(ServiceClient client, String secret) {
+        String expected = client != null ? client.secretDigest().toLowerCase() : UNKNOWN_CLIENT_DIGEST;
+        boolean equal = MessageDigest.isEqual(
+                digest(secret).getBytes(StandardCharsets.US_ASCII),
+                expected.getBytes(StandardCharsets.US_ASCII));
+        return client != null && equal;
+    }
+}
@@ -0,0 +1,62 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.exception.InvalidCredentialsException;
+import com.lifeinventory.identity.model.ServiceClient;
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.repository.ServiceClientRepository;
+import com.lifeinventory.identity.usecase.IssueServiceTokenUseCase;
+import lombok.NonNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client credentials grant for registered services.
+ * <p>
+ * Secrets are checked against the registered digests and tokens are neither stored nor
+ * announced, so a grant touches no database. A client asking again while its last token still
+ * has more than half of its lifetime left gets that token back instead of a newly signed one.
+ */
+public class ServiceTokenService implements IssueServiceTokenUseCase {
+
+    private final ServiceClientRepository clientRepository;
+    private final TokenGenerator tokenGenerator;
+    private final Duration tokenValidity;
+    private final Map<String, Token> issuedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * @param clientRepository the registered clients
+     * @param tokenGenerator   mints the access tokens
+     * @param tokenValidity    lifetime of service tokens
+     */
+    public ServiceTokenService(@NonNull ServiceClientRepository clientRepository,
+                               @NonNull TokenGenerator tokenGenerator,
+                               @NonNull Duration tokenValidity) {
+        this.clientRepository = clientRepository;
+        this.tokenGenerator = tokenGenerator;
+        this.tokenValidity = tokenValidity;
+    }
+
+    @Override
+    public Token execute(ClientCredentialsCommand command) {
+        ServiceClient client = clientRepository.findByClientId(command.clientId()).orElse(null);
+        if (!ServiceClientSecrets.matches(client, command.clientSecret())) {
+            throw new InvalidCredentialsException("Invalid client credentials");
+        }
+
+        Token issued = issuedTokens.get(client.clientId());
+        if (issued != null && isFresh(issued)) {
+            return issued;
+        }
+        Token token = tokenGenerator.generateServiceToken(client, tokenValidity);
+        // The registry is fixed and small, so one entry per client needs no eviction
+        issuedTokens.put(client.clientId(), token);
+        return token;
+    }
+
+    private boolean isFresh(Token token) {
+        return Duration.between(Instant.now(), token.expiresAt()).compareTo(tokenValidity.dividedBy(2)) > 0;
+    }
+}
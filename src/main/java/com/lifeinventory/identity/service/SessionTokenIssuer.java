@@ -0,0 +1,135 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.model.AuthenticationResult;
+import com.lifeinventory.identity.model.IdGenerator;
+import com.lifeinventory.identity.model.RefreshTokenFamily;
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.model.TokenType;
+import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.repository.RefreshTokenFamilyRepository;
+import com.lifeinventory.identity.repository.TokenRepository;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Domain service issuing the access and refresh token pair of a login session.
+ * <p>
+ * Access tokens are self-contained and validated by signature, so by default only the refresh
+ * token is stored. Session revocation works on the stored refresh tokens; access tokens of a
+ * revoked session simply run out their short lifetime.
+ * <p>
+ * Refresh tokens are opaque random values that are only ever looked up, so only their SHA-256
+ * hash is stored. Refresh tokens issued as JWTs before that are still found by their raw value
+ * until they expire.
+ * <p>
+ * Each login starts a {@link RefreshTokenFamily}. Refreshing rotates the family to the new token
+ * with one conditional write; a refresh with any other token of the family revokes the family.
+ * <p>
+ * A user holds at most {@code maxSessionsPerUser} families. A login beyond that evicts the least
+ * recently refreshed sessions as part of creating its own family; their refresh tokens then fail
+ * rotation like those of any revoked family.
+ */
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SessionTokenIssuer {
+
+    @NonNull TokenRepository tokenRepository;
+    @NonNull RefreshTokenFamilyRepository familyRepository;
+    @NonNull TokenGenerator tokenGenerator;
+    boolean persistAccessTokens;
+    int maxSessionsPerUser;
+
+    /**
+     * Generate and store a new token pair for a user.
+     *
+     * @param user the authenticated user
+     * @return the user with the new tokens, carrying the refresh token value to hand to the client
+     */
+    public AuthenticationResult issue(User user) {
+        Token accessToken = tokenGenerator.generateAccessToken(user);
+        Token refreshToken = tokenGenerator.generateRefreshToken(user).withFamilyId(IdGenerator.next());
+
+        if (persistAccessTokens) {
+            tokenRepository.save(accessToken);
+        }
+        tokenRepository.save(withStoredValue(refreshToken));
+        familyRepository.create(RefreshTokenFamily.start(refreshToken), maxSessionsPerUser);
+
+        return new AuthenticationResult(user, accessToken, refreshToken);
+    }
+
+    /**
+     * Exchange the current refresh token of a family for a new token pair.
+     * If the presented token is not the family's current token it has been used before, and the
+     * whole family is revoked.
+     *
+     * @param user the owner of the token
+     * @param presented the stored refresh token that was presented, belonging to a family
+     * @return the new tokens, or empty if the token was reused or its family has been revoked
+     */
+    public Optional<AuthenticationResult> rotate(User user, Token presented) {
+        Token accessToken = tokenGenerator.generateAccessToken(user);
+        Token refreshToken = tokenGenerator.generateRefreshToken(user).withFamilyId(presented.familyId());
+
+        if (!familyRepository.rotate(user.id(), presented.familyId(), presented.id(),
+                refreshToken.id(), refreshToken.expiresAt())) {
+            familyRepository.revoke(user.id(), presented.familyId());
+            return Optional.empty();
+        }
+
+        if (persistAccessTokens) {
+            tokenRepository.save(accessToken);
+        }
+        tokenRepository.save(withStoredValue(refreshToken));
+
+        return Optional.of(new AuthenticationResult(user, accessToken, refreshToken));
+    }
+
+    /**
+     * Revoke a stored refresh token and, if it has one, its family.
+     *
+     * @param refreshToken the stored refresh token
+     */
+    public void revoke(Token refreshToken) {
+        tokenRepository.save(refreshToken.revoke());
+        if (refreshToken.hasFamily()) {
+            familyRepository.revoke(refreshToken.userId(), refreshToken.familyId());
+        }
+    }
+
+    /**
+     * Find the stored refresh token for a value presented by a client.
+     *
+     * @param presentedValue the refresh token value as sent by the client
+     * @return the stored token if found
+     */
+    public Optional<Token> findRefreshToken(String presentedValue) {
+        String storedValue = isLegacyJwt(presentedValue) ? presentedValue : hash(presentedValue);
+        return tokenRepository.findByTokenValueAndType(storedValue, TokenType.REFRESH);
+    }
+
+    private static Token withStoredValue(Token refreshToken) {
+        return refreshToken.withTokenValue(hash(refreshToken.tokenValue()));
+    }
+
+    private static boolean isLegacyJwt(String value) {
+        return value.indexOf('.') >= 0;
+    }
+
+    static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
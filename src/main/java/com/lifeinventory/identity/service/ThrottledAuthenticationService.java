@@ -0,0 +1,28 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.model.AuthenticationResult;
+import com.lifeinventory.identity.usecase.AuthenticateUserUseCase;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Authentication use case that refuses password logins over the attempt limit before the
+ * account is looked up or the password hashed, so credential stuffing cannot turn into CPU load.
+ */
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ThrottledAuthenticationService implements AuthenticateUserUseCase {
+
+    @NonNull AuthenticateUserUseCase delegate;
+    @NonNull AttemptThrottle throttle;
+
+    @Override
+    public AuthenticationResult execute(AuthenticateCommand command) {
+        if (command.isLocalAuthentication()) {
+            throttle.acquire(command.ipAddress(), command.normalizedEmail());
+        }
+        return delegate.execute(command);
+    }
+}
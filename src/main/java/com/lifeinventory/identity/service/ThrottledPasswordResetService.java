@@ -0,0 +1,29 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.usecase.RequestPasswordResetUseCase;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Optional;
+
+/**
+ * Password reset request use case that refuses requests over the attempt limit before the
+ * account is looked up, so the endpoint cannot be used to flood a user's inbox. The limit applies
+ * whether or not the account exists, which keeps the response from revealing it.
+ */
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ThrottledPasswordResetService implements RequestPasswordResetUseCase {
+
+    @NonNull RequestPasswordResetUseCase delegate;
+    @NonNull AttemptThrottle throttle;
+
+    @Override
+    public Optional<Token> execute(RequestPasswordResetCommand command) {
+        throttle.acquire(command.ipAddress(), command.normalizedEmail());
+        return delegate.execute(command);
+    }
+}
@@ -0,0 +1,45 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.model.TokenType;
+import com.lifeinventory.identity.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Fingerprints of the user state a single-purpose token is bound to.
+ * <p>
+ * A token carries the fingerprint of the state it was issued for and stops matching once that
+ * state changes, so it needs no stored row to be revoked.
+ */
+public final class TokenFingerprints {
+
+    private TokenFingerprints() {
+    }
+
+    /**
+     * Fingerprint of the user's current state for the given token type.
+     */
+    public static String of(User user, TokenType type) {
+        return switch (type) {
+            // Verifying the email, or changing it, invalidates outstanding verification tokens
+            case EMAIL_VERIFICATION -> digest(user.id() + ":" + user.email() + ":" + user.emailVerified());
+            // Any password change, including the reset itself, advances the token generation and so
+            // invalidates outstanding reset tokens, as does logging out everywhere. The hash itself is
+            // not used: upgrading it after a login does not change the password.
+            case PASSWORD_RESET -> digest(user.id() + ":" + user.tokenGeneration());
+            default -> throw new IllegalArgumentException("Token type " + type + " is not state-bound");
+        };
+    }
+
+    private static String digest(String state) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(state.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
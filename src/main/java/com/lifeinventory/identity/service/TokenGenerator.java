@@ -1,8 +1,11 @@
 package com.lifeinventory.identity.service;
 
+import com.lifeinventory.identity.model.ServiceClient;
 import com.lifeinventory.identity.model.Token;
 import com.lifeinventory.identity.model.User;
 
+import java.time.Duration;
+
 /**
  * Interface for generating authentication tokens.
  * Output port - implementation provided by infrastructure layer.
@@ -40,4 +43,14 @@ public interface TokenGenerator {
      * @return the email verification token
      */
     Token generateEmailVerificationToken(User user);
+
+    /**
+     * Generate an access token for a service client. The token carries the client's roles and
+     * permissions, so it authenticates without a stored user.
+     *
+     * @param client   the service client
+     * @param validity lifetime of the token
+     * @return the access token
+     */
+    Token generateServiceToken(ServiceClient client, Duration validity);
 }
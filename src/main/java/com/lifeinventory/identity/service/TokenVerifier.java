@@ -0,0 +1,23 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.model.TokenType;
+import com.lifeinventory.identity.model.VerifiedToken;
+
+import java.util.Optional;
+
+/**
+ * Interface for verifying self-contained tokens created by {@link TokenGenerator}.
+ * Output port - implementation provided by infrastructure layer.
+ */
+public interface TokenVerifier {
+
+    /**
+     * Verify a token's signature and type.
+     * Expired tokens with a valid signature are returned, so callers can report expiry.
+     *
+     * @param tokenValue the token value
+     * @param expectedType the type the token must have
+     * @return the verified token, or empty if it is malformed, forged or of another type
+     */
+    Optional<VerifiedToken> verify(String tokenValue, TokenType expectedType);
+}
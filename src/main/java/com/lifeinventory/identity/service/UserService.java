@@ -12,6 +12,7 @@ import lombok.NonNull;
 import lombok.experimental.FieldDefaults;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,10 +28,13 @@ public class UserService implements
     ChangePasswordUseCase,
     VerifyEmailUseCase {
 
+    private static final int MAX_PASSWORD_UPDATE_ATTEMPTS = 3;
+
     @NonNull UserRepository userRepository;
     @NonNull TokenRepository tokenRepository;
     @NonNull PasswordHasher passwordHasher;
     @NonNull TokenGenerator tokenGenerator;
+    @NonNull TokenVerifier tokenVerifier;
     @NonNull IdentityEventPublisher eventPublisher;
 
     @Override
@@ -57,13 +61,12 @@ public class UserService implements
             );
         }
 
-        User saved = userRepository.save(user);
+        User saved = userRepository.create(user);
         eventPublisher.publish(UserRegistered.of(saved));
 
-        // Generate email verification token for local registration
+        // Generate email verification token for local registration; it is self-contained and not stored
         if (command.isLocalRegistration()) {
             Token verificationToken = tokenGenerator.generateEmailVerificationToken(saved);
-            tokenRepository.save(verificationToken);
             eventPublisher.publish(EmailVerificationRequested.of(saved, verificationToken));
         }
 
@@ -139,11 +142,23 @@ public class UserService implements
         }
 
         String newPasswordHash = passwordHasher.hash(command.newPassword());
-        User updatedUser = user.withPasswordHash(newPasswordHash);
-        User saved = userRepository.save(updatedUser);
-
-        // Revoke all refresh tokens to force re-login on other devices
-        tokenRepository.revokeAllRefreshTokensByUserId(user.id());
+        // Advancing the token generation forces re-login on other devices in the same conditional write
+        int attempts = 0;
+        while (!userRepository.changePassword(
+                user.id(), user.passwordHash(), user.tokenGeneration(), newPasswordHash)) {
+            if (++attempts == MAX_PASSWORD_UPDATE_ATTEMPTS) {
+                throw new IllegalStateException("Password of user " + user.id() + " keeps changing");
+            }
+            String verifiedHash = user.passwordHash();
+            user = userRepository.findById(command.userId())
+                .orElseThrow(() -> new UserNotFoundException(command.userId()));
+            // Changed concurrently; a rehash still matches the current password, another change does not
+            if (!Objects.equals(user.passwordHash(), verifiedHash)
+                    && !passwordHasher.verify(command.currentPassword(), user.passwordHash())) {
+                throw new InvalidCredentialsException("Current password is incorrect");
+            }
+        }
+        User saved = user.withPasswordHash(newPasswordHash).revokeAllTokens();
 
         eventPublisher.publish(PasswordChanged.of(saved));
 
@@ -152,7 +167,42 @@ public class UserService implements
 
     @Override
     public User execute(VerifyEmailCommand command) {
-        Token token = tokenRepository.findByTokenValueAndType(command.token(), TokenType.EMAIL_VERIFICATION)
+        VerifiedToken token = tokenVerifier.verify(command.token(), TokenType.EMAIL_VERIFICATION)
+            .orElseThrow(() -> new InvalidTokenException("Invalid verification token"));
+
+        if (!token.isStateBound()) {
+            return verifyEmailWithStoredToken(command.token());
+        }
+
+        if (token.isExpired()) {
+            throw new TokenExpiredException("Verification token has expired");
+        }
+
+        User user = userRepository.findById(token.userId())
+            .orElseThrow(() -> new UserNotFoundException(token.userId()));
+
+        if (user.emailVerified()) {
+            // Already verified, just return the user
+            return user;
+        }
+
+        if (!token.matchesState(TokenFingerprints.of(user, TokenType.EMAIL_VERIFICATION))) {
+            throw new InvalidTokenException("Verification token is no longer valid");
+        }
+
+        User saved = userRepository.save(user.markEmailVerified());
+
+        eventPublisher.publish(EmailVerified.of(saved));
+
+        return saved;
+    }
+
+    /**
+     * Verify an email with a token issued before verification tokens were state-bound
+     * and therefore still has a row in the token store.
+     */
+    private User verifyEmailWithStoredToken(String tokenValue) {
+        Token token = tokenRepository.findByTokenValueAndType(tokenValue, TokenType.EMAIL_VERIFICATION)
             .orElseThrow(() -> new InvalidTokenException("Invalid verification token"));
 
         if (token.isExpired()) {
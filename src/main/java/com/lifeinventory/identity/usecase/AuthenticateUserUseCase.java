@@ -85,5 +85,9 @@ public interface AuthenticateUserUseCase {
         public boolean isLocalAuthentication() {
             return provider == AuthProvider.LOCAL;
         }
+
+        public String normalizedEmail() {
+            return email != null ? email.toLowerCase().trim() : null;
+        }
     }
 }
@@ -0,0 +1,51 @@
+package com.lifeinventory.identity.usecase;
+
+import com.lifeinventory.identity.model.LoginHistoryCursor;
+import com.lifeinventory.identity.model.LoginHistoryPage;
+import lombok.NonNull;
+
+import java.util.UUID;
+
+/**
+ * Use case for reading a user's login history.
+ */
+public interface GetLoginHistoryUseCase {
+
+    int DEFAULT_LIMIT = 50;
+    int MAX_LIMIT = 200;
+
+    /**
+     * Get a page of login history, newest first.
+     *
+     * @param query query data
+     * @return the page with a cursor for the next one
+     * @throws com.lifeinventory.identity.exception.UserNotFoundException if requester does not exist
+     * @throws com.lifeinventory.identity.exception.UnauthorizedAccessException if requester is not authorized
+     */
+    LoginHistoryPage execute(LoginHistoryQuery query);
+
+    /**
+     * Query for login history.
+     */
+    record LoginHistoryQuery(
+        @NonNull UUID userId,
+        @NonNull UUID requesterId,
+        LoginHistoryCursor cursor,
+        int limit
+    ) {
+        public LoginHistoryQuery {
+            if (limit < 1 || limit > MAX_LIMIT) {
+                throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+            }
+        }
+
+        public static LoginHistoryQuery of(UUID userId, UUID requesterId, String cursor, Integer limit) {
+            return new LoginHistoryQuery(
+                userId,
+                requesterId,
+                cursor != null && !cursor.isBlank() ? LoginHistoryCursor.decode(cursor) : null,
+                limit != null ? limit : DEFAULT_LIMIT
+            );
+        }
+    }
+}
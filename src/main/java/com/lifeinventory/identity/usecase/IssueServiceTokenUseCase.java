@@ -0,0 +1,41 @@
+package com.lifeinventory.identity.usecase;
+
+import com.lifeinventory.identity.model.Token;
+import lombok.NonNull;
+
+/**
+ * Use case for the client credentials grant of registered services.
+ */
+public interface IssueServiceTokenUseCase {
+
+    /**
+     * Issue an access token to a service client.
+     *
+     * @param command client credentials
+     * @return a short-lived access token for the client
+     * @throws com.lifeinventory.identity.exception.InvalidCredentialsException if the client is unknown
+     *         or the secret does not match
+     */
+    Token execute(ClientCredentialsCommand command);
+
+    /**
+     * Command for the client credentials grant.
+     */
+    record ClientCredentialsCommand(
+        @NonNull String clientId,
+        @NonNull String clientSecret
+    ) {
+        public ClientCredentialsCommand {
+            if (clientId.isBlank()) {
+                throw new IllegalArgumentException("clientId must not be blank");
+            }
+            if (clientSecret.isBlank()) {
+                throw new IllegalArgumentException("clientSecret must not be blank");
+            }
+        }
+
+        public static ClientCredentialsCommand of(String clientId, String clientSecret) {
+            return new ClientCredentialsCommand(clientId, clientSecret);
+        }
+    }
+}
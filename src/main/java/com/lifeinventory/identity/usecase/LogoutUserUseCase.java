@@ -2,6 +2,7 @@ package com.lifeinventory.identity.usecase;
 
 import lombok.NonNull;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -22,7 +23,9 @@ public interface LogoutUserUseCase {
     record LogoutCommand(
         @NonNull UUID userId,
         String refreshToken,
-        boolean logoutAllDevices
+        boolean logoutAllDevices,
+        String accessTokenId,
+        Instant accessTokenExpiresAt
     ) {
         public LogoutCommand {
             // At least one of refreshToken or logoutAllDevices must be specified
@@ -32,14 +35,22 @@ public interface LogoutUserUseCase {
          * Logout from current device only.
          */
         public static LogoutCommand single(UUID userId, String refreshToken) {
-            return new LogoutCommand(userId, refreshToken, false);
+            return single(userId, refreshToken, null, null);
+        }
+
+        /**
+         * Logout from current device only, also revoking the access token used for the request.
+         */
+        public static LogoutCommand single(UUID userId, String refreshToken,
+                                           String accessTokenId, Instant accessTokenExpiresAt) {
+            return new LogoutCommand(userId, refreshToken, false, accessTokenId, accessTokenExpiresAt);
         }
 
         /**
          * Logout from all devices.
          */
         public static LogoutCommand allDevices(UUID userId) {
-            return new LogoutCommand(userId, null, true);
+            return new LogoutCommand(userId, null, true, null, null);
         }
     }
 }
@@ -23,7 +23,8 @@ public interface RequestPasswordResetUseCase {
      * Command for password reset request.
      */
     record RequestPasswordResetCommand(
-        @NonNull String email
+        @NonNull String email,
+        String ipAddress
     ) {
         public RequestPasswordResetCommand {
             if (email.isBlank()) {
@@ -32,7 +33,11 @@ public interface RequestPasswordResetUseCase {
         }
 
         public static RequestPasswordResetCommand of(String email) {
-            return new RequestPasswordResetCommand(email);
+            return new RequestPasswordResetCommand(email, null);
+        }
+
+        public static RequestPasswordResetCommand of(String email, String ipAddress) {
+            return new RequestPasswordResetCommand(email, ipAddress);
         }
 
         public String normalizedEmail() {
@@ -0,0 +1,74 @@
+package com.lifeinventory.identity.api.controller;
+
+import com.lifeinventory.identity.api.dto.IntrospectionRequest;
+import com.lifeinventory.identity.api.dto.IntrospectionResponse;
+import com.lifeinventory.identity.infrastructure.security.AccessTokenAuthenticator;
+import com.lifeinventory.identity.infrastructure.security.AuthenticatedUser;
+import com.lifeinventory.identity.infrastructure.security.TokenIntrospector;
+import com.lifeinventory.identity.infrastructure.security.revocation.RevokedTokenRegistry;
+import com.lifeinventory.identity.model.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntrospectionControllerTest {
+
+    private final AuthenticatedUser alice = principal("alice@example.com");
+    private final AuthenticatedUser bob = principal("bob@example.com");
+
+    private final AccessTokenAuthenticator authenticator =
+            new AccessTokenAuthenticator(null, null, null, null, new RevokedTokenRegistry(1_000, 0.01), false) {
+                @Override
+                public Optional<AuthenticatedUser> authenticate(String token) {
+                    return switch (token) {
+                        case "alice" -> Optional.of(alice);
+                        case "bob" -> Optional.of(bob);
+                        default -> Optional.empty();
+                    };
+                }
+            };
+    private final IntrospectionController controller =
+            new IntrospectionController(new TokenIntrospector(authenticator, Duration.ofSeconds(5), 1_000, 4));
+
+    @Test
+    @DisplayName("introspect should answer each token in the order it was sent")
+    void introspect_shouldAnswerInRequestOrder() {
+        IntrospectionResponse response =
+                controller.introspect(new IntrospectionRequest(List.of("bob", "expired", "alice", "bob"))).block();
+
+        List<IntrospectionResponse.Result> results = response.results();
+        assertEquals(4, results.size());
+        assertEquals(bob.id(), results.get(0).userId());
+        assertFalse(results.get(1).active());
+        assertEquals(alice.id(), results.get(2).userId());
+        assertEquals(bob.id(), results.get(3).userId());
+        assertEquals(Set.of("USER"), results.get(2).roles());
+    }
+
+    @Test
+    @DisplayName("introspect should not say why a token is inactive")
+    void introspect_shouldOnlyReportInactive() {
+        IntrospectionResponse response =
+                controller.introspect(new IntrospectionRequest(List.of("garbage"))).block();
+
+        IntrospectionResponse.Result result = response.results().get(0);
+        assertFalse(result.active());
+        assertNull(result.userId());
+        assertNull(result.email());
+        assertNull(result.tokenId());
+        assertNull(result.expiresAt());
+    }
+
+    private static AuthenticatedUser principal(String email) {
+        return new AuthenticatedUser(UUID.randomUUID(), email, Set.of(Role.USER), Set.of(), true, true,
+                UUID.randomUUID().toString(), Instant.now().plusSeconds(3600));
+    }
+}
@@ -0,0 +1,33 @@
+package com.lifeinventory.identity.api.exception;
+
+import com.lifeinventory.identity.exception.TooManyAttemptsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("handleTooManyAttempts should answer 429 with Retry-After rounded up to seconds")
+    void handleTooManyAttempts_shouldAnswer429WithRetryAfter() {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/auth/forgot-password"));
+
+        var response = handler.handleTooManyAttempts(
+                new TooManyAttemptsException("Too many password reset requests", Duration.ofMillis(1500)),
+                exchange).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("/api/v1/auth/forgot-password", response.getBody().path());
+    }
+}
@@ -0,0 +1,68 @@
+package com.lifeinventory.identity.infrastructure.datagen;
+
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.model.TokenType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticIdentityFactoryTest {
+
+    private static final Instant BASE_TIME = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("create should be deterministic for the same seed and index")
+    void create_shouldBeDeterministicForSameSeedAndIndex() {
+        var first = new SyntheticIdentityFactory(42, BASE_TIME, "hash", 20, false);
+        var second = new SyntheticIdentityFactory(42, BASE_TIME, "hash", 20, false);
+
+        for (long index = 0; index < 100; index++) {
+            assertEquals(first.create(index), second.create(index));
+        }
+    }
+
+    @Test
+    @DisplayName("create should not depend on generation order")
+    void create_shouldNotDependOnGenerationOrder() {
+        var factory = new SyntheticIdentityFactory(7, BASE_TIME, "hash", 20, false);
+
+        SyntheticIdentity later = factory.create(500);
+        factory.create(1);
+        factory.create(2);
+
+        assertEquals(later, factory.create(500));
+    }
+
+    @Test
+    @DisplayName("different seeds should produce different datasets")
+    void differentSeeds_shouldProduceDifferentDatasets() {
+        var first = new SyntheticIdentityFactory(1, BASE_TIME, "hash", 20, false);
+        var second = new SyntheticIdentityFactory(2, BASE_TIME, "hash", 20, false);
+
+        assertNotEquals(first.create(0).user().id(), second.create(0).user().id());
+    }
+
+    @Test
+    @DisplayName("generated tokens should belong to the user and respect the session limit")
+    void generatedTokens_shouldBelongToUserAndRespectSessionLimit() {
+        var factory = new SyntheticIdentityFactory(42, BASE_TIME, "hash", 5, false);
+
+        for (long index = 0; index < 1_000; index++) {
+            SyntheticIdentity identity = factory.create(index);
+            long refreshTokens = identity.tokens().stream()
+                    .filter(token -> token.type() == TokenType.REFRESH)
+                    .count();
+
+            assertTrue(refreshTokens <= 5);
+            assertTrue(identity.tokens().stream().noneMatch(token -> token.type() == TokenType.ACCESS));
+            for (Token token : identity.tokens()) {
+                assertEquals(identity.user().id(), token.userId());
+                assertFalse(token.createdAt().isBefore(identity.user().createdAt()));
+            }
+            assertFalse(identity.user().createdAt().isAfter(BASE_TIME));
+        }
+    }
+}
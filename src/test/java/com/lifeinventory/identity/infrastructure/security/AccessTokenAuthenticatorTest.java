@@ -0,0 +1,167 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.infrastructure.security.revocation.RevokedTokenRegistry;
+import com.lifeinventory.identity.model.AuthProvider;
+import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenAuthenticatorTest {
+
+    private final JwtSigningKeys signingKeys = new JwtSigningKeys("", "", "", "test-secret", null);
+    private final JwtTokenGenerator tokenGenerator =
+            new JwtTokenGenerator(signingKeys, 3_600_000, 2_592_000_000L, false);
+    private final JwtService jwtService = new JwtService(signingKeys, 1_000);
+    private final StubUserRepository users = new StubUserRepository();
+    private final RevokedTokenRegistry revokedTokens = new RevokedTokenRegistry(1_000, 0.01);
+    private final AccessTokenAuthenticator authenticator =
+            new AccessTokenAuthenticator(jwtService, users, clientId -> Optional.empty(), null, revokedTokens, false);
+
+    @Test
+    @DisplayName("authenticate should resolve the principal of a current access token")
+    void authenticate_shouldResolvePrincipalOfCurrentAccessToken() {
+        User user = users.put(User.createLocal("test@example.com", "hash"));
+        String token = tokenGenerator.generateAccessToken(user).tokenValue();
+
+        AuthenticatedUser principal = authenticator.authenticate(token).orElseThrow();
+
+        assertEquals(user.id(), principal.id());
+        assertEquals(jwtService.verify(token).orElseThrow().tokenId(), principal.tokenId());
+    }
+
+    @Test
+    @DisplayName("authenticate should reject logged out, revoked-all and deactivated users' tokens")
+    void authenticate_shouldRejectInactiveTokens() {
+        User loggedOut = users.put(User.createLocal("out@example.com", "hash"));
+        String loggedOutToken = tokenGenerator.generateAccessToken(loggedOut).tokenValue();
+        JwtClaims claims = jwtService.verify(loggedOutToken).orElseThrow();
+        revokedTokens.revoke(claims.tokenId(), claims.expiresAt());
+
+        User revokedAll = users.put(User.createLocal("all@example.com", "hash"));
+        String revokedAllToken = tokenGenerator.generateAccessToken(revokedAll).tokenValue();
+        users.put(revokedAll.revokeAllTokens());
+
+        User deactivated = users.put(User.createLocal("gone@example.com", "hash"));
+        String deactivatedToken = tokenGenerator.generateAccessToken(deactivated).tokenValue();
+        users.put(deactivated.deactivate());
+
+        assertEquals(Optional.empty(), authenticator.authenticate(loggedOutToken));
+        assertEquals(Optional.empty(), authenticator.authenticate(revokedAllToken));
+        assertEquals(Optional.empty(), authenticator.authenticate(deactivatedToken));
+    }
+
+    @Test
+    @DisplayName("authenticate should reject tokens of other types and unknown users")
+    void authenticate_shouldRejectOtherTokenTypesAndUnknownUsers() {
+        User user = users.put(User.createLocal("test@example.com", "hash"));
+        String resetToken = tokenGenerator.generatePasswordResetToken(user).tokenValue();
+        String strangerToken = tokenGenerator.generateAccessToken(User.createLocal("x@example.com", "hash")).tokenValue();
+
+        assertEquals(Optional.empty(), authenticator.authenticate(resetToken));
+        assertEquals(Optional.empty(), authenticator.authenticate(strangerToken));
+        assertEquals(Optional.empty(), authenticator.authenticate("not-a-jwt"));
+    }
+
+    /**
+     * Only what the authenticator reads; everything else is out of scope here.
+     */
+    private static final class StubUserRepository implements UserRepository {
+
+        private final Map<UUID, User> users = new ConcurrentHashMap<>();
+
+        User put(User user) {
+            users.put(user.id(), user);
+            return user;
+        }
+
+        @Override
+        public Optional<User> findById(UUID userId) {
+            return Optional.ofNullable(users.get(userId));
+        }
+
+        @Override
+        public User create(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public User save(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<User> findByEmail(String email) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<User> findByProviderAndExternalId(AuthProvider provider, String externalId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> findAll(int page, int size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> findAllActive(int page, int size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean updatePasswordHash(UUID userId, String expectedHash, String newHash) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean changePassword(UUID userId, String expectedHash, long expectedGeneration, String newHash) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean advanceTokenGeneration(UUID userId, long expectedGeneration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void recordLogin(UUID userId, Instant loginAt) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteById(UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean existsById(UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean existsByEmail(String email) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long count() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long countActive() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
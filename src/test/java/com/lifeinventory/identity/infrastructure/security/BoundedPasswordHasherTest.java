@@ -0,0 +1,71 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("hash should delegate and record the queue wait")
+    void hash_shouldDelegateAndRecordQueueWait() {
+        var hasher = new BoundedPasswordHasher(new BcryptPasswordHasher(), meterRegistry, 1, 4, Duration.ofSeconds(1));
+        try {
+            String hash = hasher.hash("password");
+
+            assertTrue(hasher.verify("password", hash));
+            assertFalse(hasher.verify("other", hash));
+            assertEquals(3, meterRegistry.get("identity.password.hashing.wait").timer().count());
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("hash should fail fast once the queue is full")
+    void hash_shouldFailFastWhenQueueIsFull() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var blocking = new BcryptPasswordHasher() {
+            @Override
+            public String hash(String plainPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash-" + plainPassword;
+            }
+        };
+        var hasher = new BoundedPasswordHasher(blocking, meterRegistry, 1, 1, Duration.ofSeconds(2));
+        try {
+            var running = CompletableFuture.supplyAsync(() -> hasher.hash("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            var queued = CompletableFuture.supplyAsync(() -> hasher.hash("second"));
+            while (meterRegistry.get("identity.password.hashing.queue").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            var rejected = assertThrows(ServiceOverloadedException.class, () -> hasher.hash("third"));
+            assertEquals(Duration.ofSeconds(2), rejected.getRetryAfter());
+            assertEquals(1, meterRegistry.get("identity.password.hashing.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash-first", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash-second", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            hasher.shutdown();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("10.0.0.0/8", "::1/128"));
+
+    private String resolve(String peer, String... forwardedFor) {
+        var request = MockServerHttpRequest.post("/api/v1/auth/login")
+                .remoteAddress(new InetSocketAddress(peer, 40000));
+        for (String header : forwardedFor) {
+            request.header("X-Forwarded-For", header);
+        }
+        return resolver.resolve(request.build());
+    }
+
+    @Test
+    @DisplayName("resolve should ignore X-Forwarded-For from an untrusted peer")
+    void resolve_shouldIgnoreForwardedForFromUntrustedPeer() {
+        assertEquals("203.0.113.7", resolve("203.0.113.7", "198.51.100.1"));
+    }
+
+    @Test
+    @DisplayName("resolve should take the right-most hop not added by a trusted proxy")
+    void resolve_shouldTakeRightMostUntrustedHop() {
+        assertEquals("203.0.113.7", resolve("10.0.0.2", "203.0.113.7"));
+        assertEquals("203.0.113.7", resolve("10.0.0.2", "198.51.100.1, 203.0.113.7, 10.0.0.1"));
+        assertEquals("203.0.113.7", resolve("10.0.0.2", "198.51.100.1", "203.0.113.7:5123"));
+    }
+
+    @Test
+    @DisplayName("resolve should not let a client pick its address by spoofing X-Forwarded-For")
+    void resolve_shouldNotLetClientSpoofItsAddress() {
+        // The ingress appends the real peer to whatever the client sent
+        assertEquals("203.0.113.7", resolve("10.0.0.2", "10.9.9.9, 203.0.113.7"));
+        assertEquals("203.0.113.7", resolve("10.0.0.2", "198.51.100.1, 203.0.113.7"));
+    }
+
+    @Test
+    @DisplayName("resolve should stop at hops that are not IP literals")
+    void resolve_shouldStopAtNonLiteralHops() {
+        assertEquals("10.0.0.2", resolve("10.0.0.2", "unknown"));
+        assertEquals("10.0.0.1", resolve("10.0.0.2", "attacker.example, 10.0.0.1"));
+        assertNull(ClientAddressResolver.parseLiteral("localhost"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DelegatingPasswordHasherTest {
+
+    // Small parameters keep the tests fast
+    private final Argon2PasswordHasher argon2 = new Argon2PasswordHasher(1024, 1, 1);
+    private final BcryptPasswordHasher bcrypt = new BcryptPasswordHasher();
+    private final DelegatingPasswordHasher hasher = new DelegatingPasswordHasher(argon2, bcrypt);
+
+    @Test
+    @DisplayName("hash should produce Argon2id hashes with the configured parameters")
+    void hash_shouldProduceArgon2idHashes() {
+        String hash = hasher.hash("password");
+
+        assertTrue(hash.startsWith("$argon2id$v=19$m=1024,t=1,p=1$"));
+        assertTrue(hasher.verify("password", hash));
+        assertFalse(hasher.verify("other", hash));
+        assertFalse(hasher.needsRehash(hash));
+    }
+
+    @Test
+    @DisplayName("verify should accept legacy bcrypt hashes and flag them for rehash")
+    void verify_shouldAcceptLegacyBcryptHashes() {
+        String legacy = bcrypt.hash("password");
+
+        assertTrue(hasher.verify("password", legacy));
+        assertFalse(hasher.verify("other", legacy));
+        assertTrue(hasher.needsRehash(legacy));
+    }
+
+    @Test
+    @DisplayName("needsRehash should flag Argon2id hashes with other memory or fewer iterations")
+    void needsRehash_shouldFlagOtherMemoryOrFewerIterations() {
+        String moreMemory = new Argon2PasswordHasher(2048, 1, 1).hash("password");
+        String moreIterations = new Argon2PasswordHasher(1024, 2, 1).hash("password");
+        var calibratedHigher = new DelegatingPasswordHasher(new Argon2PasswordHasher(1024, 3, 1), bcrypt);
+
+        assertTrue(hasher.verify("password", moreMemory));
+        assertTrue(hasher.needsRehash(moreMemory));
+        assertFalse(hasher.needsRehash(moreIterations));
+        assertTrue(calibratedHigher.needsRehash(moreIterations));
+        assertFalse(hasher.verify("password", "plain-text"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.lifeinventory.identity.model.Permission;
+import com.lifeinventory.identity.model.Role;
+import com.lifeinventory.identity.model.ServiceClient;
+import com.lifeinventory.identity.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtMinterTest {
+
+    private final JwtSigningKeys signingKeys = new JwtSigningKeys("", "", "", "test-secret", null);
+    private final JwtMinter minter = new JwtMinter();
+
+    @Test
+    @DisplayName("mint should produce a token accepted by the java-jwt verifier")
+    void mint_shouldProduceTokenAcceptedByVerifier() {
+        SigningKey key = signingKeys.currentSigningKey();
+        User user = User.createLocal("test@example.com", "hash").withRoles(Set.of(Role.USER, Role.PREMIUM));
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        UUID tokenId = UUID.randomUUID();
+
+        String token = minter.mint(key, user, JwtClaims.ACCESS, now, now.plusSeconds(3600), tokenId, "fp", true);
+        DecodedJWT decoded = key.verifier().verify(token);
+        JwtClaims claims = JwtClaims.from(decoded);
+
+        assertEquals(key.keyId(), decoded.getKeyId());
+        assertEquals(user.id(), claims.userId());
+        assertEquals(tokenId.toString(), claims.tokenId());
+        assertEquals(now, claims.issuedAt());
+        assertEquals(now.plusSeconds(3600), claims.expiresAt());
+        assertEquals(List.of("USER", "PREMIUM"), decoded.getClaim("roles").asList(String.class));
+        assertEquals("fp", decoded.getClaim(JwtClaims.FINGERPRINT_CLAIM).asString());
+        assertEquals(user.permissions(), claims.permissionSet());
+        assertTrue(claims.permissionSet().contains(Permission.USER_READ_OWN));
+    }
+
+    @Test
+    @DisplayName("mint should escape and UTF-8 encode string claims")
+    void mint_shouldEscapeAndEncodeStringClaims() {
+        SigningKey key = signingKeys.currentSigningKey();
+        String email = "\"quoted\\\"é中😀@example.com";
+        User user = User.createLocal(email, "hash");
+        Instant now = Instant.now();
+
+        String token = minter.mint(key, user, "access", now, now.plusSeconds(60), UUID.randomUUID(), null, false);
+
+        assertEquals(user.email(), key.verifier().verify(token).getClaim("email").asString());
+    }
+
+    @Test
+    @DisplayName("mint should issue service tokens carrying the client and its permissions")
+    void mint_shouldIssueServiceTokensWithClientAndPermissions() {
+        SigningKey key = signingKeys.currentSigningKey();
+        ServiceClient client = ServiceClient.of("reporting", "0".repeat(64), Set.of(Role.SYSTEM));
+        Instant now = Instant.now();
+
+        String token = minter.mint(key, client, now, now.plusSeconds(300), UUID.randomUUID());
+        JwtClaims claims = JwtClaims.from(key.verifier().verify(token));
+
+        assertTrue(claims.isAccessToken());
+        assertTrue(claims.isServiceToken());
+        assertEquals("reporting", claims.clientId());
+        assertEquals(client.id(), claims.userId());
+        assertNull(claims.email());
+        assertEquals(Set.of(Role.SYSTEM), claims.roleSet());
+        assertEquals(Set.of(Permission.values()), claims.permissionSet());
+        assertTrue(claims.active());
+    }
+}
@@ -0,0 +1,130 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.lifeinventory.identity.model.Permission;
+import com.lifeinventory.identity.model.Role;
+import com.lifeinventory.identity.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret";
+
+    private final JwtSigningKeys signingKeys = new JwtSigningKeys("", "", "", SECRET, Instant.now().plusSeconds(3600));
+    private final JwtTokenGenerator tokenGenerator =
+            new JwtTokenGenerator(signingKeys, 3_600_000, 2_592_000_000L, false);
+    private final JwtService jwtService = new JwtService(signingKeys, 1_000);
+
+    @Test
+    @DisplayName("verify should decode all claims of an access token")
+    void verify_shouldDecodeClaimsOfAccessToken() {
+        User user = User.createLocal("test@example.com", "hash");
+        String token = tokenGenerator.generateAccessToken(user).tokenValue();
+
+        JwtClaims claims = jwtService.verify(token).orElseThrow();
+
+        assertEquals(user.id(), claims.userId());
+        assertEquals("test@example.com", claims.email());
+        assertTrue(claims.isAccessToken());
+        assertFalse(claims.isRefreshToken());
+        assertTrue(claims.roles().contains("USER"));
+        assertNotNull(claims.tokenId());
+        assertTrue(claims.expiresAt().isAfter(claims.issuedAt()));
+    }
+
+    @Test
+    @DisplayName("verify should return cached claims for a repeated token")
+    void verify_shouldReturnCachedClaimsForRepeatedToken() {
+        String token = tokenGenerator.generateAccessToken(User.createLocal("test@example.com", "hash")).tokenValue();
+
+        JwtClaims first = jwtService.verify(token).orElseThrow();
+        JwtClaims second = jwtService.verify(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("verify should reject tampered and foreign tokens")
+    void verify_shouldRejectTamperedAndForeignTokens() {
+        String token = tokenGenerator.generateAccessToken(User.createLocal("test@example.com", "hash")).tokenValue();
+        jwtService.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String foreign = new JwtTokenGenerator(new JwtSigningKeys("", "", "", "other-secret", null),
+                3_600_000, 2_592_000_000L, false)
+                .generateAccessToken(User.createLocal("test@example.com", "hash")).tokenValue();
+
+        assertEquals(Optional.empty(), jwtService.verify(tampered));
+        assertEquals(Optional.empty(), jwtService.verify(foreign));
+        assertEquals(Optional.empty(), jwtService.verify("not-a-jwt"));
+    }
+
+    @Test
+    @DisplayName("claims principal tokens should round-trip roles, permissions and status")
+    void claimsPrincipal_shouldRoundTripRolesPermissionsAndStatus() {
+        var generator = new JwtTokenGenerator(signingKeys, 3_600_000, 2_592_000_000L, true);
+        User user = User.createLocal("admin@example.com", "hash")
+                .withRoles(Set.of(Role.ADMIN))
+                .markEmailVerified();
+
+        JwtClaims claims = jwtService.verify(generator.generateAccessToken(user).tokenValue()).orElseThrow();
+        AuthenticatedUser principal = AuthenticatedUser.from(claims);
+
+        assertTrue(claims.hasPrincipalClaims());
+        assertEquals(user.id(), principal.id());
+        assertEquals(user.roles(), principal.roles());
+        assertEquals(user.permissions(), principal.permissions());
+        assertTrue(principal.hasPermission(Permission.ADMIN_MANAGE_USERS));
+        assertEquals(user.active(), principal.active());
+        assertTrue(principal.emailVerified());
+    }
+
+    @Test
+    @DisplayName("tokens issued without claims principal should not carry principal claims")
+    void defaultTokens_shouldNotCarryPrincipalClaims() {
+        String token = tokenGenerator.generateAccessToken(User.createLocal("test@example.com", "hash")).tokenValue();
+
+        assertFalse(jwtService.verify(token).orElseThrow().hasPrincipalClaims());
+    }
+
+    @Test
+    @DisplayName("verify should accept legacy HS256 tokens and ES256 tokens carrying the key id")
+    void verify_shouldAcceptLegacyHs256AndEs256Tokens() {
+        User user = User.createLocal("test@example.com", "hash");
+        String es256 = tokenGenerator.generateAccessToken(user).tokenValue();
+        String legacy = JWT.create()
+                .withSubject(user.id().toString())
+                .withClaim("type", JwtClaims.ACCESS)
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        assertEquals(signingKeys.currentSigningKey().keyId(), JWT.decode(es256).getKeyId());
+        assertEquals(JwtSigningKeys.ES256, JWT.decode(es256).getAlgorithm());
+        assertTrue(jwtService.verify(legacy).isPresent());
+        assertFalse(new JwtService(new JwtSigningKeys("", "", "", SECRET, null), 1_000).verify(legacy).isPresent());
+    }
+
+    @Test
+    @DisplayName("verify should reject legacy HS256 tokens of other types or past the deadline")
+    void verify_shouldRejectLegacyHs256OfOtherTypesOrPastDeadline() {
+        String legacyAccess = JWT.create()
+                .withClaim("type", JwtClaims.ACCESS)
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+        String legacyReset = JWT.create()
+                .withClaim("type", "password_reset")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+        var expired = new JwtSigningKeys("", "", "", SECRET, Instant.now().minusSeconds(1));
+
+        assertFalse(jwtService.verify(legacyReset).isPresent());
+        assertFalse(new JwtService(expired, 1_000).verify(legacyAccess).isPresent());
+    }
+}
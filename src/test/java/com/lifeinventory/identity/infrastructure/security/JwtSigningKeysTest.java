@@ -0,0 +1,96 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.auth0.jwt.JWT;
+import com.lifeinventory.identity.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtSigningKeysTest {
+
+    @TempDir
+    Path keyDir;
+
+    @Test
+    @DisplayName("the newest started key should sign while older keys still verify")
+    void rotation_shouldSignWithNewestStartedKeyAndVerifyOlderKeys() throws Exception {
+        Instant now = Instant.now();
+        writeKey("old", now.minus(Duration.ofDays(30)), now.plus(Duration.ofDays(1)));
+        writeKey("current", now.minus(Duration.ofHours(1)), null);
+        writeKey("next", now.plus(Duration.ofDays(7)), null);
+
+        var keys = new JwtSigningKeys(keyDir.toString(), "", "", "", null);
+
+        assertEquals("current", keys.currentSigningKey().keyId());
+        assertTrue(keys.verifierFor(JwtSigningKeys.ES256, "old").isPresent());
+        assertTrue(keys.verifierFor(JwtSigningKeys.ES256, "next").isPresent());
+        assertTrue(keys.verifierFor(JwtSigningKeys.ES256, "unknown").isEmpty());
+        String jwks = new String(keys.jwkSet().document(), StandardCharsets.UTF_8);
+        assertTrue(jwks.contains("\"kid\":\"old\"") && jwks.contains("\"kid\":\"next\""));
+    }
+
+    @Test
+    @DisplayName("reload should pick up new keys and drop retired ones without invalidating others")
+    void reload_shouldSwapKeySet() throws Exception {
+        Instant now = Instant.now();
+        writeKey("first", now.minus(Duration.ofDays(1)), null);
+        var keys = new JwtSigningKeys(keyDir.toString(), "", "", "", null);
+        var generator = new JwtTokenGenerator(keys, 3_600_000, 2_592_000_000L, false);
+        var jwtService = new JwtService(keys, 1_000);
+        String firstToken = generator.generateAccessToken(User.createLocal("test@example.com", "hash")).tokenValue();
+        String firstEtag = keys.jwkSet().etag();
+
+        writeKey("second", now.minus(Duration.ofMinutes(1)), null);
+        keys.reload();
+        String secondToken = generator.generateAccessToken(User.createLocal("test@example.com", "hash")).tokenValue();
+
+        assertEquals("second", JWT.decode(secondToken).getKeyId());
+        assertTrue(jwtService.verify(firstToken).isPresent());
+        assertTrue(jwtService.verify(secondToken).isPresent());
+        assertNotEquals(firstEtag, keys.jwkSet().etag());
+
+        writeKey("first", now.minus(Duration.ofDays(1)), now.minusSeconds(1));
+        keys.reload();
+
+        assertTrue(jwtService.verify(firstToken).isEmpty());
+        assertTrue(jwtService.verify(secondToken).isPresent());
+    }
+
+    @Test
+    @DisplayName("reload should keep the previous keys when a key file is invalid")
+    void reload_shouldKeepPreviousKeysOnInvalidFile() throws Exception {
+        writeKey("valid", Instant.now().minusSeconds(60), null);
+        var keys = new JwtSigningKeys(keyDir.toString(), "", "", "", null);
+
+        Files.writeString(keyDir.resolve("broken.json"), "{\"publicKey\": \"not-a-key\"}");
+        keys.reload();
+
+        assertEquals("valid", keys.currentSigningKey().keyId());
+    }
+
+    private void writeKey(String kid, Instant signFrom, Instant verifyUntil) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        Base64.Encoder base64 = Base64.getEncoder();
+        String json = "{\"kid\":\"" + kid + "\""
+                + ",\"privateKey\":\"" + base64.encodeToString(keyPair.getPrivate().getEncoded()) + "\""
+                + ",\"publicKey\":\"" + base64.encodeToString(keyPair.getPublic().getEncoded()) + "\""
+                + ",\"signFrom\":\"" + signFrom + "\""
+                + (verifyUntil != null ? ",\"verifyUntil\":\"" + verifyUntil + "\"" : "")
+                + "}";
+        Files.writeString(keyDir.resolve(kid + ".json"), json);
+    }
+}
@@ -0,0 +1,60 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.model.TokenType;
+import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.model.VerifiedToken;
+import com.lifeinventory.identity.service.TokenFingerprints;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "test-secret";
+
+    private final JwtSigningKeys signingKeys = new JwtSigningKeys("", "", "", SECRET, null);
+    private final JwtTokenGenerator tokenGenerator =
+            new JwtTokenGenerator(signingKeys, 3_600_000, 2_592_000_000L, false);
+    private final JwtTokenVerifier tokenVerifier = new JwtTokenVerifier(signingKeys);
+
+    @Test
+    @DisplayName("verify should bind an email verification token to the user's state")
+    void verify_shouldBindEmailVerificationTokenToUserState() {
+        User user = User.createLocal("test@example.com", "hash");
+        String token = tokenGenerator.generateEmailVerificationToken(user).tokenValue();
+
+        VerifiedToken verified = tokenVerifier.verify(token, TokenType.EMAIL_VERIFICATION).orElseThrow();
+
+        assertEquals(user.id(), verified.userId());
+        assertFalse(verified.isExpired());
+        assertTrue(verified.matchesState(TokenFingerprints.of(user, TokenType.EMAIL_VERIFICATION)));
+        assertFalse(verified.matchesState(
+                TokenFingerprints.of(user.markEmailVerified(), TokenType.EMAIL_VERIFICATION)));
+    }
+
+    @Test
+    @DisplayName("verify should bind a password reset token to the token generation")
+    void verify_shouldBindPasswordResetTokenToTokenGeneration() {
+        User user = User.createLocal("test@example.com", "hash");
+        String token = tokenGenerator.generatePasswordResetToken(user).tokenValue();
+
+        VerifiedToken verified = tokenVerifier.verify(token, TokenType.PASSWORD_RESET).orElseThrow();
+
+        assertTrue(verified.matchesState(TokenFingerprints.of(user, TokenType.PASSWORD_RESET)));
+        assertTrue(verified.matchesState(
+                TokenFingerprints.of(user.withPasswordHash("rehashed"), TokenType.PASSWORD_RESET)));
+        assertFalse(verified.matchesState(
+                TokenFingerprints.of(user.withPasswordHash("new-hash").revokeAllTokens(), TokenType.PASSWORD_RESET)));
+        assertTrue(tokenVerifier.verify(token, TokenType.EMAIL_VERIFICATION).isEmpty());
+    }
+
+    @Test
+    @DisplayName("verify should reject tokens of another type")
+    void verify_shouldRejectTokensOfAnotherType() {
+        String token = tokenGenerator.generateAccessToken(User.createLocal("test@example.com", "hash")).tokenValue();
+
+        assertTrue(tokenVerifier.verify(token, TokenType.EMAIL_VERIFICATION).isEmpty());
+        assertTrue(tokenVerifier.verify("not-a-token", TokenType.EMAIL_VERIFICATION).isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.exception.TooManyAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedAttemptThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KeyedAttemptThrottle throttle(int addressCapacity, int accountCapacity) {
+        return new KeyedAttemptThrottle(
+                "login",
+                "Too many login attempts",
+                new TokenBuckets(addressCapacity, Duration.ofMinutes(1), 100, System::nanoTime),
+                new TokenBuckets(accountCapacity, Duration.ofMinutes(1), 100, System::nanoTime),
+                meterRegistry
+        );
+    }
+
+    @Test
+    @DisplayName("acquire should key the address limit on the proxy-validated address")
+    void acquire_shouldKeyAddressLimitOnValidatedAddress() {
+        var resolver = new ClientAddressResolver(List.of("10.0.0.0/8"));
+        var throttle = throttle(2, 100);
+
+        // The same client behind the ingress, claiming a new address every time
+        for (String spoofed : List.of("198.51.100.1", "198.51.100.2")) {
+            String address = resolver.resolve(throughIngress(spoofed + ", 203.0.113.7"));
+            assertEquals("203.0.113.7", address);
+            throttle.acquire(address, "user" + spoofed + "@example.com");
+        }
+
+        String spoofedAgain = resolver.resolve(throughIngress("198.51.100.3, 203.0.113.7"));
+        assertThrows(TooManyAttemptsException.class,
+                () -> throttle.acquire(spoofedAgain, "other@example.com"));
+        // Another client claiming to be the throttled one is keyed on its own address
+        throttle.acquire(resolver.resolve(throughIngress("203.0.113.7, 198.51.100.1")), "other@example.com");
+    }
+
+    @Test
+    @DisplayName("acquire should check the address before using up the account's attempts")
+    void acquire_shouldCheckAddressBeforeAccount() {
+        var throttle = throttle(1, 2);
+        throttle.acquire("203.0.113.7", "victim@example.com");
+
+        assertThrows(TooManyAttemptsException.class, () -> throttle.acquire("203.0.113.7", "victim@example.com"));
+
+        // The refused attempt did not count against the account
+        throttle.acquire("198.51.100.1", "victim@example.com");
+    }
+
+    @Test
+    @DisplayName("acquire should count refusals tagged by operation and limit")
+    void acquire_shouldCountRefusalsByOperationAndLimit() {
+        var throttle = throttle(1, 1);
+        throttle.acquire("203.0.113.7", "user@example.com");
+
+        var byAddress = assertThrows(TooManyAttemptsException.class,
+                () -> throttle.acquire("203.0.113.7", "other@example.com"));
+        assertThrows(TooManyAttemptsException.class, () -> throttle.acquire("198.51.100.1", "user@example.com"));
+
+        assertEquals("Too many login attempts", byAddress.getMessage());
+        assertTrue(byAddress.getRetryAfter().isPositive());
+        assertEquals(1, rejections("address"));
+        assertEquals(1, rejections("account"));
+    }
+
+    private double rejections(String limit) {
+        return meterRegistry.get("identity.attempts.throttled")
+                .tag("operation", "login")
+                .tag("limit", limit)
+                .counter()
+                .count();
+    }
+
+    private static MockServerHttpRequest throughIngress(String forwardedFor) {
+        return MockServerHttpRequest.post("/api/v1/auth/login")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 40000))
+                .header("X-Forwarded-For", forwardedFor)
+                .build();
+    }
+}
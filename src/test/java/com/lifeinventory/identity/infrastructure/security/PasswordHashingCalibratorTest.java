@@ -0,0 +1,68 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingCalibratorTest {
+
+    private static final Duration TARGET = Duration.ofMillis(100);
+
+    @Test
+    @DisplayName("chooseIterations should pick the most iterations within the target")
+    void chooseIterations_shouldPickMostIterationsWithinTarget() {
+        var choice = PasswordHashingCalibrator.chooseIterations(
+                iterations -> Duration.ofMillis(30L * iterations), TARGET, 1, 10);
+
+        assertEquals(3, choice.iterations());
+        assertEquals(Duration.ofMillis(90), choice.p50());
+    }
+
+    @Test
+    @DisplayName("chooseIterations should step down when the estimate misses the target")
+    void chooseIterations_shouldStepDownWhenEstimateMissesTarget() {
+        // Slower than linear, so the estimate from one iteration is too optimistic
+        var choice = PasswordHashingCalibrator.chooseIterations(
+                iterations -> Duration.ofMillis(10L * iterations * iterations), TARGET, 1, 20);
+
+        assertEquals(3, choice.iterations());
+    }
+
+    @Test
+    @DisplayName("chooseIterations should stay within the configured bounds")
+    void chooseIterations_shouldStayWithinBounds() {
+        assertEquals(2, PasswordHashingCalibrator.chooseIterations(
+                iterations -> Duration.ofMillis(200), TARGET, 2, 10).iterations());
+        assertEquals(10, PasswordHashingCalibrator.chooseIterations(
+                iterations -> Duration.ofMillis(iterations), TARGET, 1, 10).iterations());
+    }
+
+    @Test
+    @DisplayName("constructor should reuse a stored calibration instead of measuring")
+    void constructor_shouldReuseStoredCalibration() {
+        var saved = new AtomicReference<HashingCalibration>();
+        HashingCalibrationStore store = new HashingCalibrationStore() {
+            @Override
+            public Optional<HashingCalibration> find(String cpuSignature) {
+                return Optional.ofNullable(saved.get());
+            }
+
+            @Override
+            public void save(HashingCalibration calibration) {
+                saved.set(calibration);
+            }
+        };
+
+        var measured = new PasswordHashingCalibrator(store, true, TARGET, 2, 1, 1024, 1, 1).calibration();
+        var reused = new PasswordHashingCalibrator(store, true, TARGET, 2, 1, 1024, 1, 1).calibration();
+
+        assertEquals(HashingCalibration.Source.MEASURED, measured.source());
+        assertEquals(HashingCalibration.Source.STORED, reused.source());
+        assertEquals(measured.iterations(), reused.iterations());
+    }
+}
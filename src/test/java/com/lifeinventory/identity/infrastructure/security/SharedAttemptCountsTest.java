@@ -0,0 +1,119 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedAttemptCountsTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final AtomicLong clock = new AtomicLong(1_800_000_000_000L);
+    private final InMemoryStore store = new InMemoryStore();
+
+    private SharedAttemptCounts node(String nodeId, int limit) {
+        return new SharedAttemptCounts("login:account", limit, WINDOW, 100, store, nodeId, clock::get);
+    }
+
+    @Test
+    @DisplayName("tryAcquire should allow up to the limit within a window")
+    void tryAcquire_shouldAllowUpToLimitWithinWindow() {
+        var counts = node("a", 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Duration.ZERO, counts.tryAcquire("key"));
+        }
+        assertFalse(counts.tryAcquire("key").isZero());
+        assertEquals(Duration.ZERO, counts.tryAcquire("other"));
+    }
+
+    @Test
+    @DisplayName("tryAcquire should weight the previous window by its remaining overlap")
+    void tryAcquire_shouldWeightPreviousWindow() {
+        var counts = node("a", 4);
+        for (int i = 0; i < 4; i++) {
+            counts.tryAcquire("key");
+        }
+
+        // A quarter into the next window, three quarters of the previous count still apply
+        clock.addAndGet(WINDOW.plusSeconds(15).toMillis());
+
+        assertEquals(Duration.ZERO, counts.tryAcquire("key"));
+        assertEquals(Duration.ofSeconds(15), counts.tryAcquire("key"));
+    }
+
+    @Test
+    @DisplayName("sync should make attempts on other nodes count against the limit")
+    void sync_shouldShareAttemptsBetweenNodes() {
+        var first = node("a", 3);
+        var second = node("b", 3);
+
+        first.tryAcquire("key");
+        first.tryAcquire("key");
+        first.sync();
+        assertEquals(Duration.ZERO, second.tryAcquire("key"));
+        second.sync();
+
+        assertFalse(second.tryAcquire("key").isZero());
+        assertEquals(3, store.total("login:account"));
+    }
+
+    @Test
+    @DisplayName("sync should give a node new to a key the previous window of the others")
+    void sync_shouldFetchPreviousWindowForNewKeys() {
+        var first = node("a", 4);
+        var second = node("b", 4);
+        for (int i = 0; i < 4; i++) {
+            first.tryAcquire("key");
+        }
+        first.sync();
+
+        clock.addAndGet(WINDOW.plusSeconds(15).toMillis());
+        assertEquals(Duration.ZERO, second.tryAcquire("key"));
+        second.sync();
+
+        assertFalse(second.tryAcquire("key").isZero());
+    }
+
+    private static class InMemoryStore implements AttemptCountStore {
+
+        private final Map<String, Map<String, Long>> rows = new ConcurrentHashMap<>();
+
+        @Override
+        public void record(String scope, Instant windowStart, String nodeId, Map<String, Long> attempts,
+                           Duration ttl) {
+            attempts.forEach((key, count) ->
+                    rows.computeIfAbsent(scope + "|" + windowStart + "|" + key, k -> new HashMap<>())
+                            .put(nodeId, count));
+        }
+
+        @Override
+        public Map<String, Long> totals(String scope, Instant windowStart, Collection<String> keys) {
+            Map<String, Long> totals = new HashMap<>();
+            for (String key : keys) {
+                Map<String, Long> byNode = rows.get(scope + "|" + windowStart + "|" + key);
+                if (byNode != null) {
+                    totals.put(key, byNode.values().stream().mapToLong(Long::longValue).sum());
+                }
+            }
+            return totals;
+        }
+
+        long total(String scope) {
+            return rows.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(scope + "|"))
+                    .flatMap(entry -> entry.getValue().values().stream())
+                    .mapToLong(Long::longValue)
+                    .sum();
+        }
+    }
+}
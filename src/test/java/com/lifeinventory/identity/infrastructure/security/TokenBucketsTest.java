@@ -0,0 +1,50 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketsTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final TokenBuckets buckets = new TokenBuckets(3, Duration.ofSeconds(10), 100, clock::get);
+
+    @Test
+    @DisplayName("tryAcquire should allow a burst up to the capacity")
+    void tryAcquire_shouldAllowBurstUpToCapacity() {
+        assertEquals(Duration.ZERO, buckets.tryAcquire("key"));
+        assertEquals(Duration.ZERO, buckets.tryAcquire("key"));
+        assertEquals(Duration.ZERO, buckets.tryAcquire("key"));
+        assertEquals(Duration.ofSeconds(10), buckets.tryAcquire("key"));
+    }
+
+    @Test
+    @DisplayName("tryAcquire should regain one token per refill interval")
+    void tryAcquire_shouldRegainOneTokenPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("key");
+        }
+
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(Duration.ofSeconds(6), buckets.tryAcquire("key"));
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals(Duration.ZERO, buckets.tryAcquire("key"));
+        assertFalse(buckets.tryAcquire("key").isZero());
+    }
+
+    @Test
+    @DisplayName("tryAcquire should keep separate buckets per key")
+    void tryAcquire_shouldKeepSeparateBucketsPerKey() {
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("first");
+        }
+
+        assertFalse(buckets.tryAcquire("first").isZero());
+        assertEquals(Duration.ZERO, buckets.tryAcquire("second"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.infrastructure.security.revocation.RevokedTokenRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenIntrospectorTest {
+
+    private final RevokedTokenRegistry revokedTokens = new RevokedTokenRegistry(1_000, 0.01);
+    private final StubAuthenticator authenticator = new StubAuthenticator(revokedTokens);
+
+    @Test
+    @DisplayName("introspect should answer repeated lookups from the cache")
+    void introspect_shouldCacheResults() {
+        var introspector = new TokenIntrospector(authenticator, Duration.ofHours(1), 1_000, 4);
+        authenticator.activate("token", Instant.now().plusSeconds(3600));
+
+        assertTrue(introspector.introspect("token").isPresent());
+        assertTrue(introspector.introspect("token").isPresent());
+        assertEquals(Optional.empty(), introspector.introspect("unknown"));
+        assertEquals(Optional.empty(), introspector.introspect("unknown"));
+        assertEquals(2, authenticator.calls.get());
+    }
+
+    @Test
+    @DisplayName("introspect should not keep an active result past the token's expiry")
+    void introspect_shouldExpireActiveResultWithToken() throws InterruptedException {
+        var introspector = new TokenIntrospector(authenticator, Duration.ofHours(1), 1_000, 4);
+        authenticator.activate("token", Instant.now().plusMillis(200));
+
+        assertTrue(introspector.introspect("token").isPresent());
+        Thread.sleep(300);
+        authenticator.deactivate("token");
+
+        assertEquals(Optional.empty(), introspector.introspect("token"));
+        assertEquals(2, authenticator.calls.get());
+    }
+
+    @Test
+    @DisplayName("introspect should report a token logged out after it was cached as inactive")
+    void introspect_shouldHonourRevocationOfCachedToken() {
+        var introspector = new TokenIntrospector(authenticator, Duration.ofHours(1), 1_000, 4);
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        authenticator.activate("token", expiresAt);
+        AuthenticatedUser principal = introspector.introspect("token").orElseThrow();
+
+        revokedTokens.revoke(principal.tokenId(), expiresAt);
+
+        assertEquals(Optional.empty(), introspector.introspect("token"));
+        assertEquals(1, authenticator.calls.get());
+    }
+
+    @Test
+    @DisplayName("introspectAll should return results in request order, not completion order")
+    void introspectAll_shouldKeepRequestOrder() {
+        var introspector = new TokenIntrospector(authenticator, Duration.ofHours(1), 1_000, 4);
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        authenticator.activate("slow", expiresAt);
+        authenticator.activate("fast", expiresAt);
+        authenticator.delay("slow", Duration.ofMillis(200));
+
+        List<Optional<AuthenticatedUser>> results =
+                introspector.introspectAll(List.of("slow", "inactive", "fast")).block();
+
+        assertEquals(3, results.size());
+        assertEquals(authenticator.principal("slow"), results.get(0));
+        assertEquals(Optional.empty(), results.get(1));
+        assertEquals(authenticator.principal("fast"), results.get(2));
+    }
+
+    /**
+     * Answers from a fixed set of active tokens and counts how often it is asked; revocation is
+     * still checked against the real registry.
+     */
+    private static final class StubAuthenticator extends AccessTokenAuthenticator {
+
+        private final Map<String, AuthenticatedUser> active = new ConcurrentHashMap<>();
+        private final Map<String, Duration> delays = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubAuthenticator(RevokedTokenRegistry revokedTokens) {
+            super(null, null, null, null, revokedTokens, false);
+        }
+
+        void activate(String token, Instant expiresAt) {
+            active.put(token, new AuthenticatedUser(UUID.randomUUID(), token + "@example.com",
+                    Set.of(), Set.of(), true, true, UUID.randomUUID().toString(), expiresAt));
+        }
+
+        void deactivate(String token) {
+            active.remove(token);
+        }
+
+        void delay(String token, Duration delay) {
+            delays.put(token, delay);
+        }
+
+        Optional<AuthenticatedUser> principal(String token) {
+            return Optional.ofNullable(active.get(token));
+        }
+
+        @Override
+        public Optional<AuthenticatedUser> authenticate(String token) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delays.getOrDefault(token, Duration.ZERO).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return principal(token);
+        }
+    }
+}
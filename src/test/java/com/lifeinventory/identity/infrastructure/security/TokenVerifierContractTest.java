@@ -0,0 +1,44 @@
+package com.lifeinventory.identity.infrastructure.security;
+
+import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.verifier.IdentityTokenClaims;
+import com.lifeinventory.identity.verifier.IdentityTokenVerifier;
+import com.lifeinventory.identity.verifier.JwksKeySource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keeps the token-verifier library in step with the tokens and JWK Set this service publishes.
+ */
+class TokenVerifierContractTest {
+
+    private static final String SECRET = "test-secret";
+
+    private final JwtSigningKeys signingKeys = new JwtSigningKeys("", "", "", SECRET, null);
+
+    @Test
+    @DisplayName("library should verify access tokens against the published JWK Set")
+    void library_shouldVerifyAccessTokensAgainstPublishedJwkSet() {
+        JwtTokenGenerator tokenGenerator = new JwtTokenGenerator(signingKeys, 3_600_000, 2_592_000_000L, true);
+        User user = User.createLocal("test@example.com", "hash").markEmailVerified();
+
+        try (IdentityTokenVerifier verifier = IdentityTokenVerifier
+                .builder(() -> JwksKeySource.parse(signingKeys.jwkSet().document()))
+                .refreshInterval(Duration.ZERO)
+                .build()) {
+            IdentityTokenClaims claims = verifier.verify(tokenGenerator.generateAccessToken(user).tokenValue())
+                    .orElseThrow();
+
+            assertEquals(user.id(), claims.userId());
+            assertEquals(user.email(), claims.email());
+            assertTrue(claims.emailVerified());
+            user.permissions().forEach(permission -> assertTrue(claims.hasPermission(permission.name())));
+            assertEquals(user.permissions().size(), claims.permissionNames().size());
+            assertTrue(verifier.verify(tokenGenerator.generateRefreshToken(user).tokenValue()).isEmpty());
+        }
+    }
+}
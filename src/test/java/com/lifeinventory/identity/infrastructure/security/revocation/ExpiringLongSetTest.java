@@ -0,0 +1,49 @@
+package com.lifeinventory.identity.infrastructure.security.revocation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringLongSetTest {
+
+    @Test
+    @DisplayName("contains should match keys only until they expire")
+    void contains_shouldMatchKeysUntilExpiry() {
+        var set = new ExpiringLongSet(4);
+        set.add(42L, 1_000);
+
+        assertTrue(set.contains(42L, 999));
+        assertFalse(set.contains(42L, 1_000));
+        assertFalse(set.contains(43L, 0));
+    }
+
+    @Test
+    @DisplayName("add should grow the table and keep all keys")
+    void add_shouldGrowAndKeepAllKeys() {
+        var set = new ExpiringLongSet(4);
+        for (long key = -5_000; key < 5_000; key++) {
+            set.add(key, 10_000);
+        }
+
+        assertEquals(10_000, set.size());
+        for (long key = -5_000; key < 5_000; key++) {
+            assertTrue(set.contains(key, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("purgeExpired should remove expired keys and keep live ones")
+    void purgeExpired_shouldRemoveExpiredKeys() {
+        var set = new ExpiringLongSet(16);
+        for (long key = 0; key < 1_000; key++) {
+            set.add(key, key < 500 ? 100 : 200);
+        }
+
+        int live = set.purgeExpired(150);
+
+        assertEquals(500, live);
+        assertFalse(set.contains(10L, 0));
+        assertTrue(set.contains(700L, 150));
+    }
+}
@@ -0,0 +1,41 @@
+package com.lifeinventory.identity.infrastructure.security.revocation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongBloomFilterTest {
+
+    @Test
+    @DisplayName("mightContain should never miss an added key")
+    void mightContain_shouldNeverMissAddedKey() {
+        var filter = new LongBloomFilter(10_000, 0.01);
+
+        for (long key = 0; key < 10_000; key++) {
+            filter.add(key * 7919);
+        }
+
+        for (long key = 0; key < 10_000; key++) {
+            assertTrue(filter.mightContain(key * 7919));
+        }
+    }
+
+    @Test
+    @DisplayName("false positive rate should stay near the target at expected size")
+    void falsePositiveRate_shouldStayNearTarget() {
+        var filter = new LongBloomFilter(10_000, 0.01);
+        for (long key = 0; key < 10_000; key++) {
+            filter.add(key);
+        }
+
+        int falsePositives = 0;
+        for (long key = 1_000_000; key < 1_100_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,49 @@
+package com.lifeinventory.identity.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorTest {
+
+    @Test
+    @DisplayName("uuidV7 should produce version 7 ids with the current timestamp")
+    void uuidV7_shouldProduceVersion7IdsWithCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = IdGenerator.uuidV7().nextId();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after);
+    }
+
+    @Test
+    @DisplayName("uuidV7 should order ids by creation millisecond")
+    void uuidV7_shouldOrderIdsByCreationMillisecond() throws InterruptedException {
+        IdGenerator generator = IdGenerator.uuidV7();
+        UUID earlier = generator.nextId();
+        Thread.sleep(2);
+        UUID later = generator.nextId();
+
+        assertTrue(Long.compareUnsigned(earlier.getMostSignificantBits(), later.getMostSignificantBits()) < 0);
+    }
+
+    @Test
+    @DisplayName("uuidV7 should not repeat ids across threads")
+    void uuidV7_shouldNotRepeatIdsAcrossThreads() {
+        IdGenerator generator = IdGenerator.uuidV7();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        assertEquals(200_000, ids.size());
+    }
+}
@@ -0,0 +1,52 @@
+package com.lifeinventory.identity.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginHistoryCursorTest {
+
+    @Test
+    @DisplayName("decode should restore an encoded cursor")
+    void decode_shouldRestoreEncodedCursor() {
+        LoginHistoryCursor cursor = new LoginHistoryCursor(Instant.ofEpochMilli(1_760_000_000_123L), UUID.randomUUID());
+
+        LoginHistoryCursor decoded = LoginHistoryCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    @DisplayName("decode should reject malformed values")
+    void decode_shouldRejectMalformedValues() {
+        assertThrows(IllegalArgumentException.class, () -> LoginHistoryCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> LoginHistoryCursor.decode("%%%"));
+    }
+
+    @Test
+    @DisplayName("full page should point past its oldest entry")
+    void fullPage_shouldPointPastOldestEntry() {
+        UUID userId = UUID.randomUUID();
+        var newest = new LoginHistoryEntry(UUID.randomUUID(), userId, Instant.now(), "10.0.0.1", "curl");
+        var oldest = new LoginHistoryEntry(UUID.randomUUID(), userId, Instant.now().minusSeconds(60), "10.0.0.1", "curl");
+
+        LoginHistoryPage page = LoginHistoryPage.of(List.of(newest, oldest), 2);
+
+        assertEquals(oldest.cursor(), page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("partial page should have no next cursor")
+    void partialPage_shouldHaveNoNextCursor() {
+        var entry = new LoginHistoryEntry(UUID.randomUUID(), UUID.randomUUID(), Instant.now(), null, null);
+
+        LoginHistoryPage page = LoginHistoryPage.of(List.of(entry), 50);
+
+        assertTrue(page.next().isEmpty());
+    }
+}
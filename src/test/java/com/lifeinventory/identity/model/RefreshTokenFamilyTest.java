@@ -0,0 +1,38 @@
+package com.lifeinventory.identity.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshTokenFamilyTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final Instant now = Instant.now();
+
+    @Test
+    @DisplayName("evictionsFor should evict the least recently refreshed families beyond the cap")
+    void evictionsFor_shouldEvictLeastRecentlyRefreshedFamilies() {
+        RefreshTokenFamily recent = family(now.minusSeconds(10));
+        RefreshTokenFamily oldest = family(now.minusSeconds(3000));
+        RefreshTokenFamily older = family(now.minusSeconds(2000));
+
+        assertEquals(List.of(oldest, older), RefreshTokenFamily.evictionsFor(List.of(recent, oldest, older), 2));
+        assertEquals(List.of(oldest), RefreshTokenFamily.evictionsFor(List.of(recent, oldest, older), 3));
+    }
+
+    @Test
+    @DisplayName("evictionsFor should evict nothing while the new family fits")
+    void evictionsFor_shouldEvictNothingWhileNewFamilyFits() {
+        assertTrue(RefreshTokenFamily.evictionsFor(List.of(family(now), family(now)), 3).isEmpty());
+        assertTrue(RefreshTokenFamily.evictionsFor(List.of(), 1).isEmpty());
+    }
+
+    private RefreshTokenFamily family(Instant rotatedAt) {
+        return new RefreshTokenFamily(userId, UUID.randomUUID(), UUID.randomUUID(), rotatedAt, now.plusSeconds(3600));
+    }
+}
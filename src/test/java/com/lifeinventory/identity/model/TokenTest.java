@@ -168,4 +168,18 @@ class TokenTest {
         assertTrue(ttl.toMinutes() > 58);
         assertTrue(ttl.toMinutes() <= 60);
     }
+
+    @Test
+    @DisplayName("revoke should keep the refresh token family")
+    void revoke_shouldKeepRefreshTokenFamily() {
+        UUID familyId = UUID.randomUUID();
+        Token token = Token.createRefreshToken(UUID.randomUUID(), "token-value", Duration.ofDays(30))
+            .withFamilyId(familyId);
+
+        Token revoked = token.revoke();
+
+        assertTrue(revoked.hasFamily());
+        assertEquals(familyId, revoked.familyId());
+        assertEquals(token.id(), RefreshTokenFamily.start(token).currentTokenId());
+    }
 }
@@ -283,4 +283,18 @@ class UserTest {
 
         assertFalse(user.hasAllPermissions(Permission.ITEM_CREATE, Permission.ADMIN_ACCESS));
     }
+
+    @Test
+    @DisplayName("revokeAllTokens should invalidate tokens of earlier generations only")
+    void revokeAllTokens_shouldInvalidateEarlierGenerationsOnly() {
+        User user = User.createLocal("test@example.com", "hash");
+        long issuedIn = user.tokenGeneration();
+
+        User revoked = user.revokeAllTokens();
+
+        assertEquals(issuedIn + 1, revoked.tokenGeneration());
+        assertFalse(revoked.isTokenGenerationCurrent(issuedIn));
+        assertTrue(revoked.isTokenGenerationCurrent(revoked.tokenGeneration()));
+        assertEquals(revoked.tokenGeneration(), revoked.withPasswordHash("new-hash").tokenGeneration());
+    }
 }
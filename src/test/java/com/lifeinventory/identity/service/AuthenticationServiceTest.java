@@ -0,0 +1,410 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.event.IdentityEvent;
+import com.lifeinventory.identity.event.IdentityEventPublisher;
+import com.lifeinventory.identity.exception.InvalidTokenException;
+import com.lifeinventory.identity.model.AuthProvider;
+import com.lifeinventory.identity.model.AuthenticationResult;
+import com.lifeinventory.identity.model.RefreshTokenFamily;
+import com.lifeinventory.identity.model.ServiceClient;
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.model.TokenType;
+import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.model.VerifiedToken;
+import com.lifeinventory.identity.repository.RefreshTokenFamilyRepository;
+import com.lifeinventory.identity.repository.TokenRepository;
+import com.lifeinventory.identity.repository.UserRepository;
+import com.lifeinventory.identity.usecase.AuthenticateUserUseCase.AuthenticateCommand;
+import com.lifeinventory.identity.usecase.RefreshTokenUseCase.RefreshCommand;
+import com.lifeinventory.identity.usecase.RequestPasswordResetUseCase.RequestPasswordResetCommand;
+import com.lifeinventory.identity.usecase.ResetPasswordUseCase.ResetPasswordCommand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthenticationServiceTest {
+
+    private final InMemoryUsers users = new InMemoryUsers();
+    private final InMemoryTokens tokens = new InMemoryTokens();
+    private final InMemoryFamilies families = new InMemoryFamilies();
+    private final StubTokenGenerator tokenGenerator = new StubTokenGenerator();
+    private final SessionTokenIssuer tokenIssuer = new SessionTokenIssuer(tokens, families, tokenGenerator, false, 50);
+    private final AuthenticationService service = new AuthenticationService(
+            users, tokens, new VersionedPasswordHasher(), tokenGenerator,
+            tokenGenerator, tokenIssuer, new RecordingEventPublisher(),
+            Runnable::run, (userId, outcome, cause) -> {});
+
+    private final User user = users.put(User.createLocal("test@example.com", "v1:secret").markEmailVerified());
+
+    @Test
+    @DisplayName("refresh should rotate the family to the new token")
+    void refresh_shouldRotateFamilyWithCurrentToken() {
+        AuthenticationResult login = tokenIssuer.issue(user);
+
+        AuthenticationResult refreshed = service.execute(RefreshCommand.of(login.refreshToken().tokenValue()));
+
+        assertNotEquals(login.refreshToken().id(), refreshed.refreshToken().id());
+        assertEquals(login.refreshToken().familyId(), refreshed.refreshToken().familyId());
+        assertEquals(refreshed.refreshToken().id(),
+                families.findById(user.id(), login.refreshToken().familyId()).orElseThrow().currentTokenId());
+    }
+
+    @Test
+    @DisplayName("refresh should revoke the family when an already rotated token is replayed")
+    void refresh_shouldRevokeFamilyOnReplay() {
+        AuthenticationResult login = tokenIssuer.issue(user);
+        AuthenticationResult refreshed = service.execute(RefreshCommand.of(login.refreshToken().tokenValue()));
+
+        assertThrows(InvalidTokenException.class,
+                () -> service.execute(RefreshCommand.of(login.refreshToken().tokenValue())));
+        assertEquals(Optional.empty(), families.findById(user.id(), login.refreshToken().familyId()));
+
+        // The legitimate holder's current token dies with the family
+        assertThrows(InvalidTokenException.class,
+                () -> service.execute(RefreshCommand.of(refreshed.refreshToken().tokenValue())));
+    }
+
+    @Test
+    @DisplayName("refresh should start a family for a token issued before families were tracked")
+    void refresh_shouldStartFamilyForLegacyToken() {
+        Token legacy = Token.createRefreshToken(user.id(), "legacy-token", Duration.ofDays(1));
+        tokens.save(legacy.withTokenValue(SessionTokenIssuer.hash("legacy-token")));
+
+        AuthenticationResult refreshed = service.execute(RefreshCommand.of("legacy-token"));
+
+        assertTrue(refreshed.refreshToken().hasFamily());
+        assertTrue(families.findById(user.id(), refreshed.refreshToken().familyId()).isPresent());
+        assertTrue(tokens.findById(legacy.id()).orElseThrow().revoked());
+        assertThrows(InvalidTokenException.class, () -> service.execute(RefreshCommand.of("legacy-token")));
+    }
+
+    @Test
+    @DisplayName("reset should accept a token requested before a login upgraded the password hash")
+    void reset_shouldSurviveHashUpgradeAfterLogin() {
+        Token resetToken = service.execute(RequestPasswordResetCommand.of("test@example.com")).orElseThrow();
+
+        service.execute(AuthenticateCommand.local("test@example.com", "secret"));
+        assertEquals("v2:secret", users.findById(user.id()).orElseThrow().passwordHash());
+
+        User reset = service.execute(new ResetPasswordCommand(resetToken.tokenValue(), "new-secret"));
+
+        User stored = users.findById(user.id()).orElseThrow();
+        assertEquals("v2:new-secret", stored.passwordHash());
+        assertEquals(user.tokenGeneration() + 1, stored.tokenGeneration());
+        assertEquals(stored.tokenGeneration(), reset.tokenGeneration());
+    }
+
+    @Test
+    @DisplayName("reset should reject a token once the password has been changed with it")
+    void reset_shouldRejectTokenAfterPasswordChange() {
+        Token resetToken = service.execute(RequestPasswordResetCommand.of("test@example.com")).orElseThrow();
+        service.execute(new ResetPasswordCommand(resetToken.tokenValue(), "new-secret"));
+
+        assertThrows(InvalidTokenException.class,
+                () -> service.execute(new ResetPasswordCommand(resetToken.tokenValue(), "other-secret")));
+        assertEquals("v2:new-secret", users.findById(user.id()).orElseThrow().passwordHash());
+    }
+
+    private static final class InMemoryFamilies implements RefreshTokenFamilyRepository {
+
+        private final Map<UUID, RefreshTokenFamily> families = new ConcurrentHashMap<>();
+
+        @Override
+        public synchronized void create(RefreshTokenFamily family, int maxFamilies) {
+            List<RefreshTokenFamily> existing = families.values().stream()
+                    .filter(f -> f.userId().equals(family.userId()))
+                    .toList();
+            RefreshTokenFamily.evictionsFor(existing, maxFamilies).forEach(f -> families.remove(f.familyId()));
+            families.put(family.familyId(), family);
+        }
+
+        @Override
+        public Optional<RefreshTokenFamily> findById(UUID userId, UUID familyId) {
+            return Optional.ofNullable(families.get(familyId)).filter(f -> f.userId().equals(userId));
+        }
+
+        @Override
+        public synchronized boolean rotate(UUID userId, UUID familyId, UUID presentedTokenId,
+                                           UUID nextTokenId, Instant expiresAt) {
+            Optional<RefreshTokenFamily> family = findById(userId, familyId)
+                    .filter(f -> f.currentTokenId().equals(presentedTokenId));
+            family.ifPresent(f -> families.put(familyId,
+                    new RefreshTokenFamily(userId, familyId, nextTokenId, Instant.now(), expiresAt)));
+            return family.isPresent();
+        }
+
+        @Override
+        public void revoke(UUID userId, UUID familyId) {
+            families.remove(familyId);
+        }
+    }
+
+    private static final class InMemoryTokens implements TokenRepository {
+
+        private final Map<UUID, Token> tokens = new ConcurrentHashMap<>();
+
+        @Override
+        public Token save(Token token) {
+            tokens.put(token.id(), token);
+            return token;
+        }
+
+        @Override
+        public Optional<Token> findById(UUID tokenId) {
+            return Optional.ofNullable(tokens.get(tokenId));
+        }
+
+        @Override
+        public Optional<Token> findByTokenValue(String tokenValue) {
+            return tokens.values().stream().filter(t -> t.tokenValue().equals(tokenValue)).findFirst();
+        }
+
+        @Override
+        public Optional<Token> findByTokenValueAndType(String tokenValue, TokenType type) {
+            return findByTokenValue(tokenValue).filter(t -> t.type() == type);
+        }
+
+        @Override
+        public List<Token> findByUserId(UUID userId) {
+            return tokens.values().stream().filter(t -> t.userId().equals(userId)).toList();
+        }
+
+        @Override
+        public List<Token> findByUserIdAndType(UUID userId, TokenType type) {
+            return findByUserId(userId).stream().filter(t -> t.type() == type).toList();
+        }
+
+        @Override
+        public List<Token> findValidTokensByUserId(UUID userId) {
+            return findByUserId(userId).stream().filter(Token::isValid).toList();
+        }
+
+        @Override
+        public void deleteById(UUID tokenId) {
+            tokens.remove(tokenId);
+        }
+
+        @Override
+        public void deleteByTokenValue(String tokenValue) {
+            findByTokenValue(tokenValue).ifPresent(t -> tokens.remove(t.id()));
+        }
+
+        @Override
+        public void deleteAllByUserId(UUID userId) {
+            findByUserId(userId).forEach(t -> tokens.remove(t.id()));
+        }
+
+        @Override
+        public void deleteAllByUserIdAndType(UUID userId, TokenType type) {
+            findByUserIdAndType(userId, type).forEach(t -> tokens.remove(t.id()));
+        }
+
+        @Override
+        public int deleteAllExpired() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int revokeAllByUserId(UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int revokeAllRefreshTokensByUserId(UUID userId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class InMemoryUsers implements UserRepository {
+
+        private final Map<UUID, User> users = new ConcurrentHashMap<>();
+
+        User put(User user) {
+            users.put(user.id(), user);
+            return user;
+        }
+
+        @Override
+        public User create(User user) {
+            return put(user);
+        }
+
+        @Override
+        public User save(User user) {
+            return put(user);
+        }
+
+        @Override
+        public Optional<User> findById(UUID userId) {
+            return Optional.ofNullable(users.get(userId));
+        }
+
+        @Override
+        public Optional<User> findByEmail(String email) {
+            return users.values().stream().filter(u -> u.email().equals(email)).findFirst();
+        }
+
+        @Override
+        public Optional<User> findByProviderAndExternalId(AuthProvider provider, String externalId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> findAll(int page, int size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<User> findAllActive(int page, int size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized boolean updatePasswordHash(UUID userId, String expectedHash, String newHash) {
+            User current = users.get(userId);
+            if (current == null || !current.passwordHash().equals(expectedHash)) {
+                return false;
+            }
+            put(current.withPasswordHash(newHash));
+            return true;
+        }
+
+        @Override
+        public synchronized boolean changePassword(UUID userId, String expectedHash, long expectedGeneration,
+                                                   String newHash) {
+            User current = users.get(userId);
+            if (current == null || !current.passwordHash().equals(expectedHash)
+                    || current.tokenGeneration() != expectedGeneration) {
+                return false;
+            }
+            put(current.withPasswordHash(newHash).revokeAllTokens());
+            return true;
+        }
+
+        @Override
+        public boolean advanceTokenGeneration(UUID userId, long expectedGeneration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void recordLogin(UUID userId, Instant loginAt) {
+        }
+
+        @Override
+        public void deleteById(UUID userId) {
+            users.remove(userId);
+        }
+
+        @Override
+        public boolean existsById(UUID userId) {
+            return users.containsKey(userId);
+        }
+
+        @Override
+        public boolean existsByEmail(String email) {
+            return findByEmail(email).isPresent();
+        }
+
+        @Override
+        public long count() {
+            return users.size();
+        }
+
+        @Override
+        public long countActive() {
+            return users.values().stream().filter(User::active).count();
+        }
+    }
+
+    /**
+     * Issues opaque token values and verifies the reset tokens it issued, like the JWT pair does.
+     */
+    private static final class StubTokenGenerator implements TokenGenerator, TokenVerifier {
+
+        private final AtomicInteger issued = new AtomicInteger();
+        private final Map<String, VerifiedToken> resetTokens = new ConcurrentHashMap<>();
+
+        @Override
+        public Token generateAccessToken(User user) {
+            return Token.createAccessToken(user.id(), "access-" + issued.incrementAndGet(), Duration.ofMinutes(5),
+                    user.tokenGeneration());
+        }
+
+        @Override
+        public Token generateRefreshToken(User user) {
+            return Token.createRefreshToken(user.id(), "refresh-" + issued.incrementAndGet(), Duration.ofDays(1),
+                    user.tokenGeneration());
+        }
+
+        @Override
+        public Token generatePasswordResetToken(User user) {
+            Token token = Token.createPasswordResetToken(user.id(), "reset-" + issued.incrementAndGet(),
+                    Duration.ofHours(1));
+            resetTokens.put(token.tokenValue(), new VerifiedToken(user.id(), TokenType.PASSWORD_RESET,
+                    TokenFingerprints.of(user, TokenType.PASSWORD_RESET), token.expiresAt()));
+            return token;
+        }
+
+        @Override
+        public Token generateEmailVerificationToken(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Token generateServiceToken(ServiceClient client, Duration validity) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<VerifiedToken> verify(String tokenValue, TokenType expectedType) {
+            return Optional.ofNullable(resetTokens.get(tokenValue)).filter(token -> token.type() == expectedType);
+        }
+    }
+
+    /**
+     * "v2:" hashes are current; "v1:" hashes verify but need an upgrade.
+     */
+    private static final class VersionedPasswordHasher implements PasswordHasher {
+
+        @Override
+        public String hash(String plainPassword) {
+            return "v2:" + plainPassword;
+        }
+
+        @Override
+        public boolean verify(String plainPassword, String hashedPassword) {
+            return hashedPassword.substring(3).equals(plainPassword);
+        }
+
+        @Override
+        public boolean needsRehash(String hashedPassword) {
+            return !hashedPassword.startsWith("v2:");
+        }
+    }
+
+    private static final class RecordingEventPublisher implements IdentityEventPublisher {
+
+        private final List<IdentityEvent> events = new ArrayList<>();
+
+        @Override
+        public void publish(IdentityEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void publishAll(List<IdentityEvent> events) {
+            this.events.addAll(events);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.exception.InvalidTokenException;
+import com.lifeinventory.identity.model.AuthenticationResult;
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.usecase.RefreshTokenUseCase.RefreshCommand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingRefreshServiceTest {
+
+    private final User user = User.createLocal("test@example.com", "hash");
+    private final AtomicInteger rotations = new AtomicInteger();
+
+    private AuthenticationResult rotate() {
+        int rotation = rotations.incrementAndGet();
+        return new AuthenticationResult(
+                user,
+                Token.createAccessToken(user.id(), "access-" + rotation, Duration.ofHours(1)),
+                Token.createRefreshToken(user.id(), "refresh-" + rotation, Duration.ofDays(30))
+        );
+    }
+
+    @Test
+    @DisplayName("execute should share one rotation between concurrent duplicates")
+    void execute_shouldShareOneRotationBetweenConcurrentDuplicates() throws Exception {
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var service = new CoalescingRefreshService(command -> {
+            entered.countDown();
+            await(release);
+            return rotate();
+        }, Duration.ofSeconds(10), 100);
+
+        var first = CompletableFuture.supplyAsync(() -> service.execute(RefreshCommand.of("token")));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        var second = CompletableFuture.supplyAsync(() -> service.execute(RefreshCommand.of("token")));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, rotations.get());
+    }
+
+    @Test
+    @DisplayName("execute should return the same pair to a retry within the grace period")
+    void execute_shouldReturnSamePairToRetryWithinGracePeriod() {
+        var service = new CoalescingRefreshService(command -> rotate(), Duration.ofSeconds(10), 100);
+
+        AuthenticationResult first = service.execute(RefreshCommand.of("token"));
+        AuthenticationResult retry = service.execute(RefreshCommand.of("token"));
+        service.execute(RefreshCommand.of("other-token"));
+
+        assertSame(first, retry);
+        assertEquals(2, rotations.get());
+    }
+
+    @Test
+    @DisplayName("execute should not remember failures")
+    void execute_shouldNotRememberFailures() {
+        var fail = new AtomicInteger(1);
+        var service = new CoalescingRefreshService(command -> {
+            if (fail.getAndDecrement() > 0) {
+                throw new InvalidTokenException("Invalid refresh token");
+            }
+            return rotate();
+        }, Duration.ofSeconds(10), 100);
+
+        assertThrows(InvalidTokenException.class, () -> service.execute(RefreshCommand.of("token")));
+        assertNotNull(service.execute(RefreshCommand.of("token")));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
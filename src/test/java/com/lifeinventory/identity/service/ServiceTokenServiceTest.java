@@ -0,0 +1,96 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.exception.InvalidCredentialsException;
+import com.lifeinventory.identity.model.Role;
+import com.lifeinventory.identity.model.ServiceClient;
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.model.User;
+import com.lifeinventory.identity.usecase.IssueServiceTokenUseCase.ClientCredentialsCommand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceTokenServiceTest {
+
+    private static final String SECRET = "s3cr3t-with-plenty-of-entropy";
+
+    private final ServiceClient client =
+            ServiceClient.of("reporting", ServiceClientSecrets.digest(SECRET), Set.of(Role.SYSTEM));
+    private final StubTokenGenerator tokenGenerator = new StubTokenGenerator();
+
+    @Test
+    @DisplayName("execute should issue a token to a client with a matching secret")
+    void execute_shouldIssueTokenForMatchingSecret() {
+        var service = new ServiceTokenService(this::findClient, tokenGenerator, Duration.ofMinutes(5));
+
+        Token token = service.execute(ClientCredentialsCommand.of("reporting", SECRET));
+
+        assertEquals(client.id(), token.userId());
+        assertEquals(1, tokenGenerator.issued.get());
+    }
+
+    @Test
+    @DisplayName("execute should reject unknown clients and wrong secrets")
+    void execute_shouldRejectUnknownClientsAndWrongSecrets() {
+        var service = new ServiceTokenService(this::findClient, tokenGenerator, Duration.ofMinutes(5));
+
+        assertThrows(InvalidCredentialsException.class,
+                () -> service.execute(ClientCredentialsCommand.of("reporting", "wrong")));
+        assertThrows(InvalidCredentialsException.class,
+                () -> service.execute(ClientCredentialsCommand.of("billing", SECRET)));
+        assertEquals(0, tokenGenerator.issued.get());
+    }
+
+    @Test
+    @DisplayName("execute should hand out the cached token until half of its lifetime has passed")
+    void execute_shouldReuseTokenUntilHalfLife() {
+        var reusing = new ServiceTokenService(this::findClient, tokenGenerator, Duration.ofMinutes(5));
+        Token first = reusing.execute(ClientCredentialsCommand.of("reporting", SECRET));
+        assertSame(first, reusing.execute(ClientCredentialsCommand.of("reporting", SECRET)));
+
+        var expiring = new ServiceTokenService(this::findClient, tokenGenerator, Duration.ZERO);
+        Token short1 = expiring.execute(ClientCredentialsCommand.of("reporting", SECRET));
+        assertNotSame(short1, expiring.execute(ClientCredentialsCommand.of("reporting", SECRET)));
+        assertEquals(3, tokenGenerator.issued.get());
+    }
+
+    private Optional<ServiceClient> findClient(String clientId) {
+        return Optional.of(client).filter(c -> c.clientId().equals(clientId));
+    }
+
+    private static final class StubTokenGenerator implements TokenGenerator {
+
+        private final AtomicInteger issued = new AtomicInteger();
+
+        @Override
+        public Token generateServiceToken(ServiceClient client, Duration validity) {
+            return Token.createAccessToken(client.id(), "service-" + issued.incrementAndGet(), validity);
+        }
+
+        @Override
+        public Token generateAccessToken(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Token generateRefreshToken(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Token generatePasswordResetToken(User user) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Token generateEmailVerificationToken(User user) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
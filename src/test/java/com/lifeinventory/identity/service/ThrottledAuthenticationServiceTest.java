@@ -0,0 +1,65 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.exception.TooManyAttemptsException;
+import com.lifeinventory.identity.model.AuthProvider;
+import com.lifeinventory.identity.usecase.AuthenticateUserUseCase.AuthenticateCommand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThrottledAuthenticationServiceTest {
+
+    private final AtomicInteger authentications = new AtomicInteger();
+    private final List<String> attempts = new ArrayList<>();
+
+    @Test
+    @DisplayName("execute should throttle by address and normalized email before authenticating")
+    void execute_shouldThrottleBeforeAuthenticating() {
+        var service = new ThrottledAuthenticationService(command -> {
+            authentications.incrementAndGet();
+            return null;
+        }, (ipAddress, email) -> attempts.add(ipAddress + " " + email));
+
+        service.execute(AuthenticateCommand.local(" User@Example.com", "password", "10.0.0.1", "agent"));
+
+        assertEquals(List.of("10.0.0.1 user@example.com"), attempts);
+        assertEquals(1, authentications.get());
+    }
+
+    @Test
+    @DisplayName("execute should not authenticate an attempt over the limit")
+    void execute_shouldNotAuthenticateOverLimit() {
+        var service = new ThrottledAuthenticationService(command -> {
+            authentications.incrementAndGet();
+            return null;
+        }, (ipAddress, email) -> {
+            throw new TooManyAttemptsException("Too many login attempts", Duration.ofSeconds(5));
+        });
+
+        var command = AuthenticateCommand.local("user@example.com", "password");
+        var thrown = assertThrows(TooManyAttemptsException.class, () -> service.execute(command));
+
+        assertEquals(Duration.ofSeconds(5), thrown.getRetryAfter());
+        assertEquals(0, authentications.get());
+    }
+
+    @Test
+    @DisplayName("execute should not throttle external authentication")
+    void execute_shouldNotThrottleExternalAuthentication() {
+        var service = new ThrottledAuthenticationService(command -> {
+            authentications.incrementAndGet();
+            return null;
+        }, (ipAddress, email) -> attempts.add(email));
+
+        service.execute(AuthenticateCommand.external(AuthProvider.GOOGLE, "id-token"));
+
+        assertTrue(attempts.isEmpty());
+        assertEquals(1, authentications.get());
+    }
+}
@@ -0,0 +1,61 @@
+package com.lifeinventory.identity.service;
+
+import com.lifeinventory.identity.exception.TooManyAttemptsException;
+import com.lifeinventory.identity.model.Token;
+import com.lifeinventory.identity.usecase.RequestPasswordResetUseCase;
+import com.lifeinventory.identity.usecase.RequestPasswordResetUseCase.RequestPasswordResetCommand;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThrottledPasswordResetServiceTest {
+
+    private final List<String> lookups = new ArrayList<>();
+    private final List<String> attempts = new ArrayList<>();
+
+    // Only known@example.com has an account
+    private final RequestPasswordResetUseCase delegate = command -> {
+        lookups.add(command.normalizedEmail());
+        return command.normalizedEmail().equals("known@example.com")
+                ? Optional.of(Token.createPasswordResetToken(UUID.randomUUID(), "reset", Duration.ofHours(1)))
+                : Optional.empty();
+    };
+
+    @Test
+    @DisplayName("execute should throttle by address and normalized email before looking up the account")
+    void execute_shouldThrottleBeforeLookup() {
+        var service = new ThrottledPasswordResetService(delegate, (ipAddress, email) -> {
+            assertTrue(lookups.isEmpty());
+            attempts.add(ipAddress + " " + email);
+        });
+
+        assertTrue(service.execute(RequestPasswordResetCommand.of(" Known@Example.com", "203.0.113.7")).isPresent());
+
+        assertEquals(List.of("203.0.113.7 known@example.com"), attempts);
+        assertEquals(List.of("known@example.com"), lookups);
+    }
+
+    @Test
+    @DisplayName("execute should refuse over the limit alike for existing and unknown emails")
+    void execute_shouldRefuseAlikeForExistingAndUnknownEmails() {
+        var service = new ThrottledPasswordResetService(delegate, (ipAddress, email) -> {
+            throw new TooManyAttemptsException("Too many password reset requests", Duration.ofMinutes(1));
+        });
+
+        var existing = assertThrows(TooManyAttemptsException.class,
+                () -> service.execute(RequestPasswordResetCommand.of("known@example.com", "203.0.113.7")));
+        var unknown = assertThrows(TooManyAttemptsException.class,
+                () -> service.execute(RequestPasswordResetCommand.of("unknown@example.com", "203.0.113.7")));
+
+        assertEquals(existing.getMessage(), unknown.getMessage());
+        assertEquals(existing.getRetryAfter(), unknown.getRetryAfter());
+        assertTrue(lookups.isEmpty());
+    }
+}
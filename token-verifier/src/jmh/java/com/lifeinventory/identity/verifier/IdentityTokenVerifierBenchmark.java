@@ -0,0 +1,74 @@
+package com.lifeinventory.identity.verifier;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares verifying a repeated access token with and without the verified-claims cache.
+ * <p>
+ * Run with {@code ./gradlew :token-verifier:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class IdentityTokenVerifierBenchmark {
+
+    private IdentityTokenVerifier cached;
+    private IdentityTokenVerifier uncached;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair key = generator.generateKeyPair();
+        KeySource keys = () -> Map.of("benchmark", (ECPublicKey) key.getPublic());
+
+        cached = IdentityTokenVerifier.builder(keys).refreshInterval(Duration.ZERO).build();
+        uncached = IdentityTokenVerifier.builder(keys).refreshInterval(Duration.ZERO).cacheMaxSize(0).build();
+        token = JWT.create()
+                .withKeyId("benchmark")
+                .withSubject(UUID.randomUUID().toString())
+                .withClaim("email", "benchmark.user@example.com")
+                .withClaim("type", "access")
+                .withClaim("roles", List.of("USER", "PREMIUM"))
+                .withIssuedAt(Instant.now())
+                .withExpiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .withClaim("gen", 0L)
+                .withJWTId(UUID.randomUUID().toString())
+                .sign(Algorithm.ECDSA256(null, (ECPrivateKey) key.getPrivate()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        cached.close();
+        uncached.close();
+    }
+
+    @Benchmark
+    public Object cached() {
+        return cached.verify(token);
+    }
+
+    @Benchmark
+    public Object uncached() {
+        return uncached.verify(token);
+    }
+}
@@ -0,0 +1,93 @@
+package com.lifeinventory.identity.verifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Claims of a verified identity service access token.
+ * <p>
+ * {@code permissions} and {@code status} are only present when the identity service issues
+ * tokens with {@code security.jwt.claims-principal} enabled, and in all tokens issued to service
+ * clients. {@code clientId} is only present in tokens issued to service clients.
+ */
+public record IdentityTokenClaims(
+        UUID userId,
+        String email,
+        List<String> roles,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt,
+        Long permissions,
+        Integer status,
+        long generation,
+        String clientId
+) {
+    /**
+     * Permission names by bit position, mirroring the order of the identity service's
+     * {@code Permission} enum. Permissions are only ever appended there, so this list can only
+     * lag behind; unknown bits are ignored.
+     */
+    static final List<String> PERMISSION_NAMES = List.of(
+            "ITEM_CREATE", "ITEM_READ", "ITEM_UPDATE", "ITEM_DELETE",
+            "DOMAIN_READ", "DOMAIN_MANAGE",
+            "USER_READ_OWN", "USER_UPDATE_OWN", "USER_DELETE_OWN",
+            "USER_READ_ANY", "USER_UPDATE_ANY", "USER_DELETE_ANY",
+            "ADMIN_ACCESS", "ADMIN_MANAGE_USERS", "ADMIN_MANAGE_DOMAINS",
+            "EXPORT_DATA", "IMPORT_DATA"
+    );
+
+    private static final int STATUS_ACTIVE = 1;
+    private static final int STATUS_EMAIL_VERIFIED = 1 << 1;
+
+    public IdentityTokenClaims {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    /**
+     * Whether the token was issued to a service client rather than a user.
+     */
+    public boolean isServiceToken() {
+        return clientId != null;
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    /**
+     * Whether the token carries permissions and status, so authorization needs nothing else.
+     */
+    public boolean hasPrincipalClaims() {
+        return permissions != null && status != null;
+    }
+
+    public boolean hasPermission(String permission) {
+        int bit = PERMISSION_NAMES.indexOf(permission);
+        return bit >= 0 && permissions != null && (permissions & (1L << bit)) != 0;
+    }
+
+    public Set<String> permissionNames() {
+        Set<String> result = new TreeSet<>();
+        long bits = permissions != null ? permissions : 0L;
+        for (int i = 0; i < PERMISSION_NAMES.size(); i++) {
+            if ((bits & (1L << i)) != 0) {
+                result.add(PERMISSION_NAMES.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Account status when the token was issued; tokens without status claims report active.
+     */
+    public boolean active() {
+        return status == null || (status & STATUS_ACTIVE) != 0;
+    }
+
+    public boolean emailVerified() {
+        return status != null && (status & STATUS_EMAIL_VERIFIED) != 0;
+    }
+}
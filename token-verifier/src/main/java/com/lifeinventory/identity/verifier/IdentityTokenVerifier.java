@@ -0,0 +1,296 @@
+package com.lifeinventory.identity.verifier;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies identity service access tokens locally, without a call to the identity service.
+ * <p>
+ * Keys come from a {@link KeySource}, normally the service's JWK Set, and are refreshed in the
+ * background. A token signed with a key that is not known yet triggers an early refresh, at most
+ * once per {@code minRefreshInterval}, so key rotations are picked up without letting garbage
+ * tokens hammer the identity service. Verified claims are cached by the SHA-256 digest of the
+ * token until the token expires or its key is retired.
+ * <p>
+ * Local verification only proves that the identity service issued the token and that it has not
+ * expired. Logouts and revoked sessions stay invisible until the token expires; services that
+ * need strict revocation should call the identity service's {@code /api/v1/introspect} endpoint
+ * instead.
+ */
+public final class IdentityTokenVerifier implements AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(IdentityTokenVerifier.class.getName());
+
+    private static final String ES256 = "ES256";
+    private static final String ACCESS = "access";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final KeySource keySource;
+    private final Duration minRefreshInterval;
+    private final long leewaySeconds;
+    private final Cache<ByteBuffer, VerifiedToken> verifiedTokens;
+    private final ScheduledExecutorService refresher;
+    private volatile Map<String, JWTVerifier> verifiers = Map.of();
+    private volatile long lastRefreshNanos;
+
+    private IdentityTokenVerifier(Builder builder) {
+        this.keySource = builder.keySource;
+        this.minRefreshInterval = builder.minRefreshInterval;
+        this.leewaySeconds = builder.leeway.toSeconds();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(builder.cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+
+        refreshKeys();
+        if (builder.refreshInterval.isZero()) {
+            this.refresher = null;
+        } else {
+            this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "identity-token-verifier-keys");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = builder.refreshInterval.toMillis();
+            refresher.scheduleWithFixedDelay(this::refreshKeys, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static Builder builder(KeySource keySource) {
+        return new Builder(keySource);
+    }
+
+    /**
+     * Builder reading keys from the JWK Set of the identity service at {@code baseUri}.
+     */
+    public static Builder builder(URI baseUri) {
+        return new Builder(new JwksKeySource(baseUri.resolve("/.well-known/jwks.json")));
+    }
+
+    /**
+     * Verify an access token and decode its claims.
+     *
+     * @param token the encoded JWT, without the {@code Bearer } prefix
+     * @return the claims, or empty if the token is invalid, expired or not an access token
+     */
+    public Optional<IdentityTokenClaims> verify(String token) {
+        ByteBuffer digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            // A retired key takes its tokens with it
+            if (verifiers.containsKey(cached.keyId())) {
+                return Optional.of(cached.claims());
+            }
+            verifiedTokens.invalidate(digest);
+        }
+
+        try {
+            DecodedJWT decoded = JWT.decode(token);
+            if (!ES256.equals(decoded.getAlgorithm()) || decoded.getKeyId() == null) {
+                return Optional.empty();
+            }
+            JWTVerifier verifier = verifierFor(decoded.getKeyId());
+            if (verifier == null) {
+                return Optional.empty();
+            }
+            verifier.verify(decoded);
+            if (!ACCESS.equals(decoded.getClaim("type").asString()) || decoded.getExpiresAtAsInstant() == null) {
+                return Optional.empty();
+            }
+
+            IdentityTokenClaims claims = toClaims(decoded);
+            verifiedTokens.put(digest, new VerifiedToken(claims, decoded.getKeyId()));
+            return Optional.of(claims);
+        } catch (JWTVerificationException | IllegalArgumentException e) {
+            LOG.log(System.Logger.Level.DEBUG, "Token verification failed: {0}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Fetch the keys now, keeping the current ones if the fetch fails.
+     *
+     * @return whether the keys were fetched
+     */
+    public synchronized boolean refreshKeys() {
+        lastRefreshNanos = System.nanoTime();
+        Map<String, ECPublicKey> keys;
+        try {
+            keys = keySource.fetchKeys();
+        } catch (IOException | RuntimeException e) {
+            LOG.log(System.Logger.Level.WARNING, "Failed to refresh identity token keys, keeping {0} known keys: {1}",
+                    verifiers.size(), e.getMessage());
+            return false;
+        }
+
+        Map<String, JWTVerifier> current = verifiers;
+        Map<String, JWTVerifier> next = new HashMap<>();
+        keys.forEach((keyId, publicKey) -> {
+            JWTVerifier existing = current.get(keyId);
+            next.put(keyId, existing != null ? existing : JWT.require(Algorithm.ECDSA256(publicKey, null))
+                    .acceptLeeway(leewaySeconds)
+                    .build());
+        });
+        verifiers = Map.copyOf(next);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private JWTVerifier verifierFor(String keyId) {
+        JWTVerifier verifier = verifiers.get(keyId);
+        if (verifier != null) {
+            return verifier;
+        }
+        synchronized (this) {
+            // Another thread may have refreshed while this one waited
+            verifier = verifiers.get(keyId);
+            if (verifier == null && System.nanoTime() - lastRefreshNanos >= minRefreshInterval.toNanos()) {
+                refreshKeys();
+                verifier = verifiers.get(keyId);
+            }
+            return verifier;
+        }
+    }
+
+    private static IdentityTokenClaims toClaims(DecodedJWT jwt) {
+        List<String> roles = jwt.getClaim("roles").asList(String.class);
+        Long generation = jwt.getClaim("gen").asLong();
+        return new IdentityTokenClaims(
+                UUID.fromString(jwt.getSubject()),
+                jwt.getClaim("email").asString(),
+                roles,
+                jwt.getId(),
+                jwt.getIssuedAtAsInstant(),
+                jwt.getExpiresAtAsInstant(),
+                jwt.getClaim("perms").asLong(),
+                jwt.getClaim("st").asInt(),
+                generation != null ? generation : 0L,
+                jwt.getClaim("client").asString()
+        );
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private record VerifiedToken(IdentityTokenClaims claims, String keyId) {
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            long remainingMillis = token.claims().expiresAt().toEpochMilli() - Instant.now().toEpochMilli();
+            return Math.max(0, remainingMillis) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    public static final class Builder {
+
+        private final KeySource keySource;
+        private Duration refreshInterval = Duration.ofMinutes(5);
+        private Duration minRefreshInterval = Duration.ofSeconds(30);
+        private Duration leeway = Duration.ZERO;
+        private long cacheMaxSize = 10_000;
+
+        private Builder(KeySource keySource) {
+            this.keySource = Objects.requireNonNull(keySource, "keySource");
+        }
+
+        /**
+         * How often keys are refreshed in the background; zero disables background refresh.
+         */
+        public Builder refreshInterval(Duration refreshInterval) {
+            this.refreshInterval = requireNotNegative(refreshInterval, "refreshInterval");
+            return this;
+        }
+
+        /**
+         * Minimum time between refreshes triggered by tokens signed with an unknown key.
+         */
+        public Builder minRefreshInterval(Duration minRefreshInterval) {
+            this.minRefreshInterval = requireNotNegative(minRefreshInterval, "minRefreshInterval");
+            return this;
+        }
+
+        /**
+         * Clock skew tolerated when checking expiry and issue time.
+         */
+        public Builder leeway(Duration leeway) {
+            this.leeway = requireNotNegative(leeway, "leeway");
+            return this;
+        }
+
+        public Builder cacheMaxSize(long cacheMaxSize) {
+            if (cacheMaxSize < 0) {
+                throw new IllegalArgumentException("cacheMaxSize must not be negative");
+            }
+            this.cacheMaxSize = cacheMaxSize;
+            return this;
+        }
+
+        /**
+         * Create the verifier, fetching the keys once. A failed initial fetch is retried by the
+         * background refresh, or by the first token after {@code minRefreshInterval}.
+         */
+        public IdentityTokenVerifier build() {
+            return new IdentityTokenVerifier(this);
+        }
+
+        private static Duration requireNotNegative(Duration duration, String name) {
+            Objects.requireNonNull(duration, name);
+            if (duration.isNegative()) {
+                throw new IllegalArgumentException(name + " must not be negative");
+            }
+            return duration;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.lifeinventory.identity.verifier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads ES256 keys from the identity service's JWK Set, e.g.
+ * {@code https://identity.example.org/.well-known/jwks.json}.
+ * <p>
+ * Sends {@code If-None-Match} with the last ETag, so unchanged key sets cost a 304.
+ */
+public class JwksKeySource implements KeySource {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI jwksUri;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private String etag;
+    private Map<String, ECPublicKey> keys = Map.of();
+
+    public JwksKeySource(URI jwksUri) {
+        this(jwksUri, HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build(), Duration.ofSeconds(5));
+    }
+
+    public JwksKeySource(URI jwksUri, HttpClient httpClient, Duration timeout) {
+        this.jwksUri = jwksUri;
+        this.httpClient = httpClient;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public synchronized Map<String, ECPublicKey> fetchKeys() throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(jwksUri).timeout(timeout).GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + jwksUri, e);
+        }
+
+        if (response.statusCode() == 304) {
+            return keys;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Fetching " + jwksUri + " returned HTTP " + response.statusCode());
+        }
+
+        keys = parse(response.body());
+        etag = response.headers().firstValue("ETag").orElse(null);
+        return keys;
+    }
+
+    /**
+     * Parse the P-256 keys of a JWK Set document; other keys are skipped.
+     */
+    public static Map<String, ECPublicKey> parse(byte[] document) throws IOException {
+        Map<String, ECPublicKey> result = new HashMap<>();
+        for (JsonNode jwk : MAPPER.readTree(document).path("keys")) {
+            if (!"EC".equals(jwk.path("kty").asText()) || !"P-256".equals(jwk.path("crv").asText())
+                    || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            try {
+                result.put(jwk.get("kid").asText(), toPublicKey(jwk.path("x").asText(), jwk.path("y").asText()));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                throw new IOException("Invalid key " + jwk.get("kid").asText() + " in JWK Set", e);
+            }
+        }
+        return Map.copyOf(result);
+    }
+
+    private static ECPublicKey toPublicKey(String x, String y) throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+        ECPoint point = new ECPoint(coordinate(x), coordinate(y));
+        return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, spec));
+    }
+
+    private static BigInteger coordinate(String value) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+}
@@ -0,0 +1,20 @@
+package com.lifeinventory.identity.verifier;
+
+import java.io.IOException;
+import java.security.interfaces.ECPublicKey;
+import java.util.Map;
+
+/**
+ * Source of the identity service's token verification keys.
+ */
+@FunctionalInterface
+public interface KeySource {
+
+    /**
+     * Fetch the currently published keys.
+     *
+     * @return public keys by key id ({@code kid})
+     * @throws IOException if the keys cannot be fetched
+     */
+    Map<String, ECPublicKey> fetchKeys() throws IOException;
+}
@@ -0,0 +1,126 @@
+package com.lifeinventory.identity.verifier;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentityTokenVerifierTest {
+
+    private final KeyPair currentKey = generateKey();
+    private final KeyPair nextKey = generateKey();
+    private final AtomicReference<Map<String, ECPublicKey>> publishedKeys =
+            new AtomicReference<>(Map.of("current", (ECPublicKey) currentKey.getPublic()));
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final IdentityTokenVerifier verifier = IdentityTokenVerifier.builder(() -> {
+                fetches.incrementAndGet();
+                return publishedKeys.get();
+            })
+            .refreshInterval(Duration.ZERO)
+            .minRefreshInterval(Duration.ZERO)
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        verifier.close();
+    }
+
+    @Test
+    @DisplayName("verify should decode the claims of a valid access token")
+    void verify_shouldDecodeClaimsOfValidAccessToken() {
+        UUID userId = UUID.randomUUID();
+        String token = token("current", currentKey, userId, "access", Instant.now().plusSeconds(900));
+
+        IdentityTokenClaims claims = verifier.verify(token).orElseThrow();
+
+        assertEquals(userId, claims.userId());
+        assertEquals("test@example.com", claims.email());
+        assertTrue(claims.hasRole("USER"));
+        assertTrue(claims.hasPermission("ITEM_READ"));
+        assertFalse(claims.hasPermission("ITEM_CREATE"));
+        assertTrue(claims.active());
+        assertTrue(claims.emailVerified());
+        assertEquals(3, claims.generation());
+        assertEquals(claims, verifier.verify(token).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("verify should refresh keys when a token uses an unknown key")
+    void verify_shouldRefreshKeysForUnknownKey() {
+        String token = token("next", nextKey, UUID.randomUUID(), "access", Instant.now().plusSeconds(900));
+        publishedKeys.set(Map.of(
+                "current", (ECPublicKey) currentKey.getPublic(),
+                "next", (ECPublicKey) nextKey.getPublic()));
+
+        assertTrue(verifier.verify(token).isPresent());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    @DisplayName("verify should stop accepting cached tokens of a retired key")
+    void verify_shouldStopAcceptingCachedTokensOfRetiredKey() {
+        String token = token("current", currentKey, UUID.randomUUID(), "access", Instant.now().plusSeconds(900));
+        assertTrue(verifier.verify(token).isPresent());
+
+        publishedKeys.set(Map.of("next", (ECPublicKey) nextKey.getPublic()));
+        verifier.refreshKeys();
+
+        assertTrue(verifier.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("verify should reject refresh, expired and forged tokens")
+    void verify_shouldRejectRefreshExpiredAndForgedTokens() {
+        UUID userId = UUID.randomUUID();
+
+        assertTrue(verifier.verify(token("current", currentKey, userId, "refresh", Instant.now().plusSeconds(900)))
+                .isEmpty());
+        assertTrue(verifier.verify(token("current", currentKey, userId, "access", Instant.now().minusSeconds(60)))
+                .isEmpty());
+        assertTrue(verifier.verify(token("current", nextKey, userId, "access", Instant.now().plusSeconds(900)))
+                .isEmpty());
+        assertTrue(verifier.verify("not-a-token").isEmpty());
+    }
+
+    private static String token(String keyId, KeyPair key, UUID userId, String type, Instant expiresAt) {
+        return JWT.create()
+                .withKeyId(keyId)
+                .withSubject(userId.toString())
+                .withClaim("email", "test@example.com")
+                .withClaim("type", type)
+                .withClaim("roles", List.of("USER"))
+                .withIssuedAt(Instant.now().minusSeconds(1))
+                .withExpiresAt(expiresAt)
+                .withClaim("gen", 3L)
+                .withJWTId(UUID.randomUUID().toString())
+                .withClaim("perms", 2L)
+                .withClaim("st", 3)
+                .sign(Algorithm.ECDSA256(null, (ECPrivateKey) key.getPrivate()));
+    }
+
+    private static KeyPair generateKey() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}